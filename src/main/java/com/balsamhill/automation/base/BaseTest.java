@@ -1,16 +1,48 @@
 package com.balsamhill.automation.base;
 
 import com.balsamhill.automation.drivers.DriverFactory;
+import com.balsamhill.automation.drivers.DriverManager;
+import com.balsamhill.automation.drivers.OrphanProcessReaper;
+import com.balsamhill.automation.drivers.ResourceBlocker;
 import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.reports.AllureReportManager;
+import com.balsamhill.automation.utils.ClickHistory;
+import com.balsamhill.automation.utils.SelectorMemory;
+import com.balsamhill.automation.utils.WaitBudget;
+import com.balsamhill.automation.utils.WaitHistory;
+import com.balsamhill.automation.utils.WaitMetrics;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
 
+import java.lang.reflect.Method;
+
 public abstract class BaseTest {
 
     private static final LoggerWrapper log = new LoggerWrapper(BaseTest.class);
 
+    /**
+     * Kills driver and browser processes left behind by earlier runs
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void setUpSuite() {
+        int reclaimed = OrphanProcessReaper.reclaimOrphans();
+        log.step("Suite setup completed - {} leftover browser processes reclaimed", reclaimed);
+    }
+
+    /**
+     * Opens the wait budget that every explicit wait of the test method is clamped to, and starts
+     * the test's wait report
+     */
+    @BeforeMethod(alwaysRun = true)
+    public void startWaitTracking(Method method) {
+        WaitBudget.startTest(method.getName());
+        WaitMetrics.startTest();
+    }
+
     @BeforeMethod(alwaysRun = true)
     public void setUp() {
         setUp("chrome", "staging"); // Call the parameterized version with defaults
@@ -38,10 +70,43 @@ public abstract class BaseTest {
     @AfterMethod(alwaysRun = true)
     public void tearDown() {
         log.step("Starting test cleanup...");
+        String budget = WaitBudget.endTest();
+        if (budget != null) {
+            log.info(budget);
+        }
+        AllureReportManager.attachJson("Wait Report", WaitMetrics.testReport());
+        reportBlockedResources();
         DriverFactory.closeDriver();
         log.step("Test cleanup completed - WebDriver closed and resources cleared");
     }
 
+    /**
+     * Attaches the resource-blocking summary for the finished test, if blocking is enabled
+     */
+    private void reportBlockedResources() {
+        String blocked = ResourceBlocker.drainReport(DriverManager.getOriginalDriver());
+        if (blocked != null) {
+            log.info(blocked);
+            AllureReportManager.attachText("Blocked Resources", blocked);
+        }
+    }
+
+    /**
+     * Releases drivers that outlive individual tests, such as pooled drivers
+     */
+    @AfterSuite(alwaysRun = true)
+    public void tearDownSuite() {
+        DriverFactory.shutdown();
+        WaitHistory.save();
+        SelectorMemory.save();
+        ClickHistory.save();
+        String clickSummary = ClickHistory.getSummary();
+        log.info(clickSummary);
+        AllureReportManager.attachText("Click Strategy Success Rates", clickSummary);
+        AllureReportManager.attachJson("Suite Wait Report", WaitMetrics.writeSuiteReport());
+        log.step("Suite cleanup completed - shared WebDriver resources released");
+    }
+
     /**
      * Protected method for initializing driver - can be called by child classes
      */
@@ -0,0 +1,137 @@
+package com.balsamhill.automation.drivers;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.utils.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.module.Script;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Disables CSS transitions and animations and forces instant scrolling on every document a
+ * driver loads, so page objects do not have to sleep while the UI settles. Chrome and Edge
+ * register the script through DevTools; Firefox uses a WebDriver BiDi preload script.
+ */
+public class AnimationFreeMode {
+
+    private static final LoggerWrapper log = new LoggerWrapper(AnimationFreeMode.class);
+
+    private static final String FIREFOX = "firefox";
+
+    private static final String STYLESHEET = "*, *::before, *::after {"
+            + " transition: none !important; transition-duration: 0s !important;"
+            + " animation: none !important; animation-duration: 0s !important;"
+            + " scroll-behavior: auto !important; caret-color: transparent !important; }";
+
+    /**
+     * Injects the stylesheet as early as possible and strips smooth behavior from scroll calls,
+     * which CSS alone cannot override. BiDi preload scripts take a function declaration.
+     */
+    private static final String FUNCTION = "() => {"
+            + " const css = " + quote(STYLESHEET) + ";"
+            + " const inject = () => {"
+            + "   if (document.getElementById('__animation_free')) { return; }"
+            + "   const style = document.createElement('style');"
+            + "   style.id = '__animation_free';"
+            + "   style.textContent = css;"
+            + "   (document.head || document.documentElement).appendChild(style);"
+            + " };"
+            + " if (document.documentElement) { inject(); }"
+            + " document.addEventListener('DOMContentLoaded', inject);"
+            + " const instant = (args) => {"
+            + "   if (args.length && args[0] && typeof args[0] === 'object') {"
+            + "     args[0] = Object.assign({}, args[0], { behavior: 'instant' });"
+            + "   }"
+            + "   return args;"
+            + " };"
+            + " for (const target of [Element.prototype, window]) {"
+            + "   for (const name of ['scrollIntoView', 'scrollTo', 'scrollBy', 'scroll']) {"
+            + "     const original = target[name];"
+            + "     if (typeof original !== 'function') { continue; }"
+            + "     target[name] = function (...args) { return original.apply(this, instant(args)); };"
+            + "   }"
+            + " }"
+            + "}";
+
+    private static final String SCRIPT = "(" + FUNCTION + ")();";
+
+    private static final Set<WebDriver> ACTIVE = Collections.synchronizedSet(
+            Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    private AnimationFreeMode() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isAnimationFreeEnabled();
+    }
+
+    /**
+     * Enables WebDriver BiDi for Firefox so a preload script can be registered.
+     * Must be called before the driver is created.
+     *
+     * @param options The Firefox options being built
+     */
+    public static void configure(FirefoxOptions options) {
+        if (isEnabled()) {
+            options.enableBiDi();
+        }
+    }
+
+    /**
+     * Registers the animation-free script on a newly created driver for every future document.
+     *
+     * @param driver  The driver to apply the mode to
+     * @param browser The browser type (chrome, firefox, edge)
+     */
+    public static void apply(WebDriver driver, String browser) {
+        if (!isEnabled()) {
+            return;
+        }
+        try {
+            if (FIREFOX.equals(browser)) {
+                new Script(driver).addPreloadScript(FUNCTION);
+            } else if (driver instanceof HasCdp) {
+                HasCdp cdp = (HasCdp) driver;
+                cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", SCRIPT));
+                cdp.executeCdpCommand("Emulation.setEmulatedMedia", Map.of("features",
+                        List.of(Map.of("name", "prefers-reduced-motion", "value", "reduce"))));
+            } else {
+                log.warn("Animation-free mode is not supported for {}", browser);
+                return;
+            }
+            // Cover the document that is already loaded
+            ((JavascriptExecutor) driver).executeScript(SCRIPT);
+            ACTIVE.add(driver);
+            log.info("Animation-free mode enabled for {}", browser);
+        } catch (Exception e) {
+            log.warn("Animation-free mode could not be applied for {}: {}", browser, e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether the mode was successfully applied to the given driver. Callers use this
+     * to decide whether they can skip sleeps that only wait for animations.
+     */
+    public static boolean isActive(WebDriver driver) {
+        return driver != null && ACTIVE.contains(driver);
+    }
+
+    /**
+     * Drops bookkeeping for a driver that is being quit.
+     */
+    public static void forget(WebDriver driver) {
+        ACTIVE.remove(driver);
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
@@ -0,0 +1,279 @@
+package com.balsamhill.automation.drivers;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.utils.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.edge.EdgeOptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs many isolated browser contexts inside one shared Chromium process per browser type.
+ * Each context has its own cookies and storage and is driven by its own WebDriver session
+ * attached to the shared process, so page objects keep working unchanged.
+ */
+public class BrowserContextManager {
+
+    private static final LoggerWrapper log = new LoggerWrapper(BrowserContextManager.class);
+
+    private static final String CHROME = "chrome";
+    private static final String EDGE = "edge";
+
+    private static final Map<String, ChromiumDriver> HOSTS = new ConcurrentHashMap<>();
+    private static final Map<String, Object> HOST_LOCKS = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, String> CONTEXTS = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final Map<WebDriver, ChromiumDriver> CONTEXT_HOSTS = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final Map<WebDriver, String> PRIMARY_HANDLES = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private BrowserContextManager() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Checks whether the shared-browser mode is enabled and applies to the given browser.
+     * Only Chromium-based browsers support DevTools browser contexts.
+     */
+    public static boolean supports(String browser) {
+        return ConfigManager.isSharedBrowserEnabled() && (CHROME.equals(browser) || EDGE.equals(browser));
+    }
+
+    /**
+     * Creates a new isolated browser context in the shared process for the given browser and
+     * returns a WebDriver session bound to the context's window.
+     *
+     * @param browser    The browser type (chrome, edge)
+     * @param isHeadless Whether the shared process runs in headless mode
+     * @return WebDriver bound to the new context
+     */
+    public static WebDriver newContextDriver(String browser, boolean isHeadless) {
+        ChromiumDriver host = hostFor(browser, isHeadless);
+
+        String contextId;
+        String targetId;
+        synchronized (host) {
+            Map<String, Object> context = host.executeCdpCommand("Target.createBrowserContext",
+                    Map.of("disposeOnDetach", false));
+            contextId = (String) context.get("browserContextId");
+
+            Map<String, Object> targetParams = new HashMap<>();
+            targetParams.put("url", "about:blank");
+            targetParams.put("browserContextId", contextId);
+            targetParams.put("newWindow", true);
+            if (isHeadless) {
+                targetParams.put("width", 1920);
+                targetParams.put("height", 1080);
+            }
+            targetId = (String) host.executeCdpCommand("Target.createTarget", targetParams).get("targetId");
+        }
+
+        WebDriver driver = null;
+        String handle;
+        try {
+            driver = attach(browser, getDebuggerAddress(host, browser));
+            handle = findHandle(driver, targetId);
+            driver.switchTo().window(handle);
+        } catch (RuntimeException e) {
+            if (driver != null) {
+                endSession(driver);
+            }
+            disposeContext(host, contextId);
+            throw e;
+        }
+
+        CONTEXTS.put(driver, contextId);
+        CONTEXT_HOSTS.put(driver, host);
+        PRIMARY_HANDLES.put(driver, handle);
+        log.info("Created browser context {} in shared {} process", contextId, browser);
+        return driver;
+    }
+
+    /**
+     * Checks whether the given driver is bound to a shared-process browser context.
+     */
+    public static boolean owns(WebDriver driver) {
+        return driver != null && CONTEXTS.containsKey(driver);
+    }
+
+    /**
+     * @return Handle of the window the context was created with
+     */
+    public static String getPrimaryHandle(WebDriver driver) {
+        return PRIMARY_HANDLES.get(driver);
+    }
+
+    /**
+     * Returns the window handles that belong to the driver's own context. A session attached to
+     * the shared process sees every page target in it, including other contexts' windows.
+     *
+     * @param driver A driver created by {@link #newContextDriver(String, boolean)}
+     * @return Handles of the context's page targets
+     */
+    @SuppressWarnings("unchecked")
+    public static Set<String> getContextHandles(WebDriver driver) {
+        String contextId = CONTEXTS.get(driver);
+        ChromiumDriver host = CONTEXT_HOSTS.get(driver);
+        if (contextId == null || host == null) {
+            throw new IllegalStateException("Driver is not bound to a browser context");
+        }
+
+        List<Map<String, Object>> targets;
+        synchronized (host) {
+            targets = (List<Map<String, Object>>) host.executeCdpCommand("Target.getTargets", Map.of()).get("targetInfos");
+        }
+        Set<String> handles = new LinkedHashSet<>();
+        for (String handle : driver.getWindowHandles()) {
+            for (Map<String, Object> target : targets) {
+                if ("page".equals(target.get("type")) && contextId.equals(target.get("browserContextId"))
+                        && matches(handle, (String) target.get("targetId"))) {
+                    handles.add(handle);
+                }
+            }
+        }
+        return handles;
+    }
+
+    /**
+     * Disposes the driver's browser context and ends its attached session.
+     * The shared browser process keeps running for other contexts.
+     *
+     * @param driver A driver created by {@link #newContextDriver(String, boolean)}
+     */
+    public static void closeContext(WebDriver driver) {
+        String contextId = CONTEXTS.remove(driver);
+        ChromiumDriver host = CONTEXT_HOSTS.remove(driver);
+        PRIMARY_HANDLES.remove(driver);
+        if (contextId != null && host != null) {
+            disposeContext(host, contextId);
+        }
+        endSession(driver);
+    }
+
+    /**
+     * Disposes every context and quits the shared browser processes.
+     */
+    public static void shutdown() {
+        List<WebDriver> drivers;
+        synchronized (CONTEXTS) {
+            drivers = new ArrayList<>(CONTEXTS.keySet());
+        }
+        drivers.forEach(BrowserContextManager::closeContext);
+
+        HOSTS.forEach((browser, host) -> {
+            try {
+                host.quit();
+                log.info("Shared {} process quit", browser);
+            } catch (Exception e) {
+                log.error("Failed to quit shared {} process: {}", browser, e.getMessage());
+            }
+        });
+        HOSTS.clear();
+    }
+
+    /**
+     * Returns the shared process for the browser, launching it on first use. The launch happens
+     * under a per-browser lock rather than inside a map operation, so a slow browser start does
+     * not block other browser types.
+     */
+    private static ChromiumDriver hostFor(String browser, boolean isHeadless) {
+        ChromiumDriver host = HOSTS.get(browser);
+        if (host != null) {
+            return host;
+        }
+        synchronized (HOST_LOCKS.computeIfAbsent(browser, b -> new Object())) {
+            host = HOSTS.get(browser);
+            if (host == null) {
+                host = launchHost(browser, isHeadless);
+                HOSTS.put(browser, host);
+            }
+            return host;
+        }
+    }
+
+    private static ChromiumDriver launchHost(String browser, boolean isHeadless) {
+        log.info("Launching shared {} process for browser contexts", browser);
+        return (ChromiumDriver) DriverFactory.launchBrowser(browser, isHeadless);
+    }
+
+    private static WebDriver attach(String browser, String debuggerAddress) {
+        if (EDGE.equals(browser)) {
+            EdgeOptions options = new EdgeOptions();
+            options.setExperimentalOption("debuggerAddress", debuggerAddress);
+            DriverFactory.applyPageLoadStrategy(options, browser);
+            EdgeDriverService service = EdgeDriverService.createDefaultService();
+            WebDriver driver = new EdgeDriver(service, options);
+            DriverProcesses.register(driver, service);
+            return driver;
+        }
+        ChromeOptions options = new ChromeOptions();
+        options.setExperimentalOption("debuggerAddress", debuggerAddress);
+        DriverFactory.applyPageLoadStrategy(options, browser);
+        ChromeDriverService service = ChromeDriverService.createDefaultService();
+        WebDriver driver = new ChromeDriver(service, options);
+        DriverProcesses.register(driver, service);
+        return driver;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String getDebuggerAddress(ChromiumDriver host, String browser) {
+        String capability = EDGE.equals(browser) ? "ms:edgeOptions" : "goog:chromeOptions";
+        Object vendorOptions = host.getCapabilities().getCapability(capability);
+        if (vendorOptions instanceof Map && ((Map<String, Object>) vendorOptions).get("debuggerAddress") != null) {
+            return ((Map<String, Object>) vendorOptions).get("debuggerAddress").toString();
+        }
+        throw new IllegalStateException("Shared " + browser + " process does not expose a debugger address");
+    }
+
+    /**
+     * ChromeDriver window handles are DevTools target ids, optionally with a prefix.
+     */
+    private static String findHandle(WebDriver driver, String targetId) {
+        for (String handle : driver.getWindowHandles()) {
+            if (matches(handle, targetId)) {
+                return handle;
+            }
+        }
+        throw new IllegalStateException("No window found for browser context target: " + targetId);
+    }
+
+    private static boolean matches(String handle, String targetId) {
+        return handle.equalsIgnoreCase(targetId) || handle.toUpperCase().endsWith(targetId.toUpperCase());
+    }
+
+    /**
+     * Ends an attached session. The shared browser process keeps running.
+     */
+    private static void endSession(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            log.warn("Failed to end context session: {}", e.getMessage());
+        } finally {
+            DriverProcesses.forget(driver);
+        }
+    }
+
+    private static void disposeContext(ChromiumDriver host, String contextId) {
+        try {
+            synchronized (host) {
+                host.executeCdpCommand("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+            }
+            log.info("Disposed browser context {}", contextId);
+        } catch (Exception e) {
+            log.warn("Failed to dispose browser context {}: {}", contextId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.balsamhill.automation.drivers;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.utils.ConfigManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves driver binaries (chromedriver, msedgedriver, geckodriver) once per JVM and persists
+ * the result in an on-disk manifest keyed by browser and installed browser version, so later
+ * runs on the same machine skip WebDriverManager entirely. When the browser version cannot be
+ * detected the entry is only trusted for a day, since the browser may have been updated since.
+ * In offline mode only the manifest is consulted and no network lookup is ever made.
+ */
+public class DriverBinaryResolver {
+
+    private static final LoggerWrapper log = new LoggerWrapper(DriverBinaryResolver.class);
+
+    private static final String FIREFOX = "firefox";
+    private static final String EDGE = "edge";
+    private static final String CHROME = "chrome";
+
+    private static final String UNKNOWN_VERSION = "unknown";
+    private static final Duration UNKNOWN_VERSION_TTL = Duration.ofDays(1);
+    private static final Pattern VERSION_PATTERN = Pattern.compile("(\\d+(\\.\\d+)+)");
+
+    private static final Map<String, List<String>> BROWSER_COMMANDS = Map.of(
+            CHROME, List.of("google-chrome", "google-chrome-stable", "chromium", "chromium-browser",
+                    "/Applications/Google Chrome.app/Contents/MacOS/Google Chrome"),
+            EDGE, List.of("microsoft-edge", "microsoft-edge-stable",
+                    "/Applications/Microsoft Edge.app/Contents/MacOS/Microsoft Edge"),
+            FIREFOX, List.of("firefox", "/Applications/Firefox.app/Contents/MacOS/firefox")
+    );
+
+    private static final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private static final Map<String, String> RESOLVED = new ConcurrentHashMap<>();
+
+    private DriverBinaryResolver() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Makes the driver binary for the given browser available to Selenium. The first call per
+     * JVM consults the manifest (and WebDriverManager if allowed); later calls do no lookup.
+     *
+     * @param browser The browser type (chrome, firefox, edge)
+     */
+    public static void resolve(String browser) {
+        String driverPath = RESOLVED.computeIfAbsent(browser, DriverBinaryResolver::resolveOnce);
+        System.setProperty(getDriverProperty(browser), driverPath);
+    }
+
+    private static String resolveOnce(String browser) {
+        String preset = System.getProperty(getDriverProperty(browser));
+        if (preset != null && new File(preset).canExecute()) {
+            log.info("Using preconfigured {} driver binary: {}", browser, preset);
+            return preset;
+        }
+
+        String browserVersion = detectBrowserVersion(browser);
+        String key = browser + "@" + browserVersion;
+
+        synchronized (DriverBinaryResolver.class) {
+            ObjectNode manifest = readManifest();
+            if (manifest.has(key)) {
+                String cachedPath = manifest.get(key).path("driverPath").asText();
+                if (!new File(cachedPath).canExecute()) {
+                    log.warn("Manifest entry for {} points to a missing binary: {}", key, cachedPath);
+                } else if (UNKNOWN_VERSION.equals(browserVersion) && !ConfigManager.isDriverResolutionOffline()
+                        && isExpired(manifest.get(key).path("resolvedAt").asText())) {
+                    log.info("Manifest entry for {} is older than {} hours, resolving again", key,
+                            UNKNOWN_VERSION_TTL.toHours());
+                } else {
+                    log.info("Resolved {} driver from manifest: {}", key, cachedPath);
+                    return cachedPath;
+                }
+            }
+
+            if (ConfigManager.isDriverResolutionOffline()) {
+                throw new IllegalStateException("Offline driver resolution enabled but no usable manifest entry for "
+                        + key + " in " + getManifestPath() + ". Run once online or set -D" + getDriverProperty(browser));
+            }
+
+            WebDriverManager wdm = WebDriverManager.getInstance(browser);
+            wdm.avoidExport().setup();
+            String driverPath = wdm.getDownloadedDriverPath();
+            if (driverPath == null) {
+                throw new IllegalStateException("WebDriverManager did not resolve a driver binary for " + browser);
+            }
+
+            ObjectNode entry = manifest.putObject(key);
+            entry.put("driverPath", driverPath);
+            entry.put("driverVersion", wdm.getDownloadedDriverVersion());
+            entry.put("browserVersion", browserVersion);
+            entry.put("resolvedAt", Instant.now().toString());
+            writeManifest(manifest);
+
+            log.info("Resolved {} driver via WebDriverManager and saved to manifest: {}", key, driverPath);
+            return driverPath;
+        }
+    }
+
+    private static boolean isExpired(String resolvedAt) {
+        try {
+            return Instant.parse(resolvedAt).plus(UNKNOWN_VERSION_TTL).isBefore(Instant.now());
+        } catch (DateTimeParseException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Reads the installed browser version locally by running the browser with --version.
+     * Returns "unknown" when no known browser command responds.
+     */
+    private static String detectBrowserVersion(String browser) {
+        for (String command : BROWSER_COMMANDS.getOrDefault(browser, List.of())) {
+            try {
+                Process process = new ProcessBuilder(command, "--version").redirectErrorStream(true).start();
+                // Wait before reading: a browser that hangs without printing would block readLine forever.
+                // The version line is far smaller than the pipe buffer, so the process cannot stall on output.
+                if (!process.waitFor(5, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                    continue;
+                }
+                String output;
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                    output = reader.readLine();
+                }
+                if (output != null) {
+                    Matcher matcher = VERSION_PATTERN.matcher(output);
+                    if (matcher.find()) {
+                        log.debug("Detected {} version {} using '{}'", browser, matcher.group(1), command);
+                        return matcher.group(1);
+                    }
+                }
+            } catch (IOException e) {
+                // Command not installed, try the next candidate
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        log.warn("Could not detect installed {} version, manifest entry will not be version specific", browser);
+        return UNKNOWN_VERSION;
+    }
+
+    private static ObjectNode readManifest() {
+        Path path = getManifestPath();
+        if (Files.exists(path)) {
+            try {
+                return (ObjectNode) mapper.readTree(path.toFile());
+            } catch (IOException | ClassCastException e) {
+                log.warn("Ignoring unreadable driver manifest {}: {}", path, e.getMessage());
+            }
+        }
+        return mapper.createObjectNode();
+    }
+
+    private static void writeManifest(ObjectNode manifest) {
+        Path path = getManifestPath();
+        try {
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, "driver-manifest", ".tmp");
+            mapper.writeValue(temp.toFile(), manifest);
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to persist driver manifest {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static Path getManifestPath() {
+        String configured = ConfigManager.getDriverManifestPath();
+        if (!configured.isEmpty()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "balsamhill", "driver-manifest.json");
+    }
+
+    private static String getDriverProperty(String browser) {
+        switch (browser) {
+            case FIREFOX:
+                return "webdriver.gecko.driver";
+            case EDGE:
+                return "webdriver.edge.driver";
+            case CHROME:
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+}
@@ -2,14 +2,23 @@ package com.balsamhill.automation.drivers;
 
 import com.balsamhill.automation.logger.LoggerWrapper;
 import com.balsamhill.automation.utils.ConfigManager;
-import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.PageLoadStrategy;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
+import org.openqa.selenium.remote.AbstractDriverOptions;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 public class DriverFactory {
 
@@ -19,6 +28,8 @@ public class DriverFactory {
     private static final String EDGE = "edge";
     private static final String CHROME = "chrome";
 
+    private static final List<Consumer<WebDriver>> QUIT_LISTENERS = new CopyOnWriteArrayList<>();
+
     /**
      * Initializes the WebDriver based on configuration settings or TestNG parameters.
      * Supports Chrome, Firefox, and Edge browsers with optional headless mode.
@@ -41,16 +52,39 @@ public class DriverFactory {
                 ConfigManager.get("browser").toLowerCase();
 
         String baseUrl = ConfigManager.get("baseUrl");
-        boolean isHeadless = ConfigManager.getBoolean("headless");
 
-        WebDriver driver = createDriver(browser, isHeadless);
-        DriverManager.setDriver(driver);
+        if (!DriverPool.isEnabled() && DriverPrefetcher.isEnabled()) {
+            // Pre-spawned drivers are already on the base URL
+            DriverManager.setDriver(DriverRecycler.decorate(DriverPrefetcher.take(browser, baseUrl)));
+            log.step("Pre-spawned driver on base URL: {} using browser: {}", baseUrl, browser);
+            return;
+        }
+
+        WebDriver driver = DriverPool.isEnabled() ? DriverPool.lease(browser) : newSession(browser);
+        DriverManager.setDriver(DriverRecycler.decorate(driver));
 
         driver.get(baseUrl);
         log.step("Navigated to base URL: {} using browser: {}", baseUrl, browser);
+    }
+
+    /**
+     * Starts a new browser session with its window maximized, ready for navigation.
+     *
+     * @param browser The browser type (chrome, firefox, edge)
+     * @return WebDriver instance
+     */
+    static WebDriver newSession(String browser) {
+        boolean isHeadless = ConfigManager.getBoolean("headless");
+
+        WebDriver driver = createDriver(browser, isHeadless);
+        DriverRecycler.track(driver, browser);
+        ResourceBlocker.apply(driver, browser);
+        AnimationFreeMode.apply(driver, browser);
+        NetworkActivityTracker.apply(driver, browser);
 
         driver.manage().window().maximize();
         log.step("Browser window maximized for: {}", browser);
+        return driver;
     }
 
     /**
@@ -61,30 +95,51 @@ public class DriverFactory {
      * @return WebDriver instance
      */
     private static WebDriver createDriver(String browser, boolean isHeadless) {
+        if (BrowserContextManager.supports(browser)) {
+            log.info("Creating isolated browser context in shared {} process", browser);
+            return BrowserContextManager.newContextDriver(browser, isHeadless);
+        }
+        return launchBrowser(browser, isHeadless);
+    }
+
+    /**
+     * Launches a dedicated browser process for the specified browser type.
+     *
+     * @param browser    The browser type (chrome, firefox, edge)
+     * @param isHeadless Whether to run in headless mode
+     * @return WebDriver instance
+     */
+    static WebDriver launchBrowser(String browser, boolean isHeadless) {
         WebDriver driver;
 
         log.info("Initializing Selenium WebDriver for browser: {}", browser);
 
         switch (browser) {
             case FIREFOX:
-                WebDriverManager.firefoxdriver().setup();
+                DriverBinaryResolver.resolve(FIREFOX);
                 FirefoxOptions firefoxOptions = getFirefoxOptions(isHeadless);
-                driver = new FirefoxDriver(firefoxOptions);
+                GeckoDriverService firefoxService = GeckoDriverService.createDefaultService();
+                driver = new FirefoxDriver(firefoxService, firefoxOptions);
+                DriverProcesses.register(driver, firefoxService);
                 log.info("FirefoxDriver initialized.");
                 break;
 
             case EDGE:
-                WebDriverManager.edgedriver().setup();
+                DriverBinaryResolver.resolve(EDGE);
                 EdgeOptions edgeOptions = getEdgeOptions(isHeadless);
-                driver = new EdgeDriver(edgeOptions);
+                EdgeDriverService edgeService = EdgeDriverService.createDefaultService();
+                driver = new EdgeDriver(edgeService, edgeOptions);
+                DriverProcesses.register(driver, edgeService);
                 log.info("EdgeDriver initialized.");
                 break;
 
             case CHROME:
             default:
-                WebDriverManager.chromedriver().setup();
+                DriverBinaryResolver.resolve(CHROME);
                 ChromeOptions chromeOptions = getChromeOptions(isHeadless);
-                driver = new ChromeDriver(chromeOptions);
+                ChromeDriverService chromeService = ChromeDriverService.createDefaultService();
+                driver = new ChromeDriver(chromeService, chromeOptions);
+                DriverProcesses.register(driver, chromeService);
                 log.info("ChromeDriver initialized.");
                 break;
         }
@@ -115,6 +170,8 @@ public class DriverFactory {
             log.info("Chrome headless mode enabled.");
         }
 
+        applyPageLoadStrategy(options, CHROME);
+
         return options;
     }
 
@@ -141,6 +198,8 @@ public class DriverFactory {
             log.info("Edge headless mode enabled.");
         }
 
+        applyPageLoadStrategy(options, EDGE);
+
         return options;
     }
 
@@ -163,26 +222,124 @@ public class DriverFactory {
         // Additional Firefox-specific configurations
         options.addPreference("dom.webnotifications.enabled", false);
         options.addPreference("media.volume_scale", "0.0");
+        ResourceBlocker.configure(options);
+        AnimationFreeMode.configure(options);
+        applyPageLoadStrategy(options, FIREFOX);
 
         return options;
     }
 
+    /**
+     * Applies the page load strategy configured for the browser (normal, eager or none).
+     * With eager or none, navigation returns before images and third-party assets finish loading
+     * and pages rely on their readiness contracts instead.
+     *
+     * @param options The driver options being built
+     * @param browser The browser type (chrome, firefox, edge)
+     */
+    static void applyPageLoadStrategy(AbstractDriverOptions<?> options, String browser) {
+        String strategy = ConfigManager.getPageLoadStrategy(browser);
+        try {
+            options.setPageLoadStrategy(PageLoadStrategy.fromString(strategy));
+            log.info("Page load strategy for {}: {}", browser, strategy);
+        } catch (IllegalArgumentException e) {
+            log.warn("Unknown page load strategy '{}' for {}, using normal", strategy, browser);
+        }
+    }
+
     /**
      * Closes and quits the WebDriver instance for the current thread.
-     * Ensures proper cleanup of resources and handles exceptions during quit.
+     * Pooled drivers are reset and returned to the pool instead of being quit.
+     * With asynchronous teardown the quit runs in the background and this method returns at once.
      */
     public static void closeDriver() {
-        WebDriver driver = DriverManager.getDriver();
+        WebDriver driver = DriverManager.getOriginalDriver();
+        if (driver != null && DriverPool.owns(driver)) {
+            DriverPool.release(driver);
+            DriverManager.detachDriver();
+            log.info("Pooled WebDriver returned for this thread.");
+            return;
+        }
+        // Detach first so the thread never hands out a driver that is being quit
+        DriverManager.detachDriver();
         if (driver != null) {
+            if (DriverQuitReaper.isEnabled()) {
+                DriverQuitReaper.submit(driver, browserOf(driver), () -> quitDriver(driver));
+                log.info("WebDriver queued for asynchronous quit.");
+            } else {
+                DriverQuitReaper.quitWithTimeout(driver, browserOf(driver), () -> quitDriver(driver));
+            }
+        }
+        log.info("Selenium WebDriver resources cleared for this thread.");
+    }
+
+    /**
+     * Registers a callback that receives every undecorated driver just before it is quit, so
+     * bookkeeping outside this package can drop its entries for the session.
+     *
+     * @param listener The callback; failures are logged and do not stop the quit
+     */
+    public static void addQuitListener(Consumer<WebDriver> listener) {
+        QUIT_LISTENERS.add(listener);
+    }
+
+    /**
+     * Quits the given WebDriver instance, logging rather than propagating failures.
+     *
+     * @param driver The driver to quit
+     */
+    static void quitDriver(WebDriver driver) {
+        ResourceBlocker.forget(driver);
+        AnimationFreeMode.forget(driver);
+        DriverRecycler.forget(driver);
+        NetworkActivityTracker.forget(driver);
+        for (Consumer<WebDriver> listener : QUIT_LISTENERS) {
+            try {
+                listener.accept(driver);
+            } catch (Exception e) {
+                log.warn("Quit listener failed: {}", e.getMessage());
+            }
+        }
+        try {
+            if (BrowserContextManager.owns(driver)) {
+                BrowserContextManager.closeContext(driver);
+                log.info("Browser context closed successfully.");
+                return;
+            }
             try {
                 driver.quit();
                 log.info("WebDriver quit successfully.");
             } catch (Exception e) {
                 log.error("Failed to quit WebDriver: {}", e.getMessage());
             }
+        } finally {
+            DriverProcesses.forget(driver);
         }
-        // Cleanup for thread-local instances
-        DriverManager.clearDriver();
-        log.info("Selenium WebDriver resources cleared for this thread.");
     }
-}
\ No newline at end of file
+
+    /**
+     * Releases every driver held by the factory. Intended for suite teardown.
+     */
+    public static void shutdown() {
+        if (DriverPool.isEnabled()) {
+            DriverPool.shutdown();
+        }
+        if (DriverPrefetcher.isEnabled()) {
+            DriverPrefetcher.shutdown();
+        }
+        if (ConfigManager.isSharedBrowserEnabled()) {
+            BrowserContextManager.shutdown();
+        }
+        DriverQuitReaper.awaitPending(ConfigManager.getQuitTimeout() * 2);
+        log.info(DriverQuitReaper.getMetrics());
+        log.info(DriverRecycler.getSummary());
+        OrphanProcessReaper.reclaimOwn();
+    }
+
+    private static String browserOf(WebDriver driver) {
+        if (driver instanceof HasCapabilities) {
+            return ((HasCapabilities) driver).getCapabilities().getBrowserName();
+        }
+        return "unknown";
+    }
+}
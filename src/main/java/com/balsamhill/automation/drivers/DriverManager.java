@@ -1,5 +1,6 @@
 package com.balsamhill.automation.drivers;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WrapsDriver;
 
 
 public class DriverManager {
@@ -10,6 +11,15 @@ public class DriverManager {
         return WEB_DRIVER_THREAD_LOCAL.get();
     }
 
+    /**
+     * Returns the driver for the current thread without any decoration, for lookups in
+     * bookkeeping that is keyed by the driver instance created by the factory.
+     */
+    public static WebDriver getOriginalDriver() {
+        WebDriver driver = WEB_DRIVER_THREAD_LOCAL.get();
+        return driver instanceof WrapsDriver ? ((WrapsDriver) driver).getWrappedDriver() : driver;
+    }
+
     public static void setDriver(WebDriver driver) {
         WEB_DRIVER_THREAD_LOCAL.set(driver);
     }
@@ -30,6 +40,14 @@ public class DriverManager {
         }
     }
 
+    /**
+     * Detach the WebDriver instance from the current thread without quitting it.
+     * Used when the driver outlives the test, e.g. when it is returned to the pool.
+     */
+    public static void detachDriver() {
+        WEB_DRIVER_THREAD_LOCAL.remove();
+    }
+
     /**
      * Clear the WebDriver instance for the current thread.
      * This method is a convenience wrapper around removeDriver().
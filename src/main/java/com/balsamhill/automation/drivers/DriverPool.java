@@ -0,0 +1,288 @@
+package com.balsamhill.automation.drivers;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.utils.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps warm WebDriver sessions per browser type so tests lease a running browser
+ * instead of launching a new one. Returned drivers are reset rather than quit.
+ */
+public class DriverPool {
+
+    private static final LoggerWrapper log = new LoggerWrapper(DriverPool.class);
+
+    private static final String BLANK_PAGE = "about:blank";
+    private static final int EVICTION_INTERVAL_SECONDS = 30;
+
+    private static final Map<String, BrowserPool> POOLS = new ConcurrentHashMap<>();
+    private static final Map<WebDriver, BrowserPool> LEASED = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static final ScheduledExecutorService MAINTENANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "driver-pool-maintenance");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        MAINTENANCE.scheduleWithFixedDelay(DriverPool::evictIdleDrivers,
+                EVICTION_INTERVAL_SECONDS, EVICTION_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private DriverPool() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isDriverPoolEnabled();
+    }
+
+    /**
+     * Leases a running driver for the given browser, creating one if the pool has not reached
+     * its maximum size, otherwise waiting for another thread to return one.
+     *
+     * @param browser The browser type (chrome, firefox, edge)
+     * @return A reset WebDriver ready for navigation
+     */
+    public static WebDriver lease(String browser) {
+        BrowserPool pool = POOLS.computeIfAbsent(browser, BrowserPool::new);
+        WebDriver driver = pool.take();
+        LEASED.put(driver, pool);
+        log.info("Leased pooled {} driver (idle: {}, total: {})", browser, pool.idle.size(), pool.total.get());
+        return driver;
+    }
+
+    /**
+     * Checks whether the given driver was leased from the pool.
+     */
+    public static boolean owns(WebDriver driver) {
+        return driver != null && LEASED.containsKey(driver);
+    }
+
+    /**
+     * Returns a leased driver to its pool. The driver is reset first; drivers that fail
+     * to reset are quit and replaced on a later lease. Drivers past a recycle threshold are
+     * quit and replaced in the background.
+     *
+     * @param driver The driver previously obtained from {@link #lease(String)}
+     */
+    public static void release(WebDriver driver) {
+        BrowserPool pool = LEASED.remove(driver);
+        if (pool == null) {
+            log.warn("Attempted to release a driver that is not leased from the pool");
+            return;
+        }
+
+        Optional<String> recycleReason = DriverRecycler.recycleReason(driver);
+        if (recycleReason.isPresent()) {
+            DriverRecycler.reportRecycle(driver, recycleReason.get());
+            pool.destroy(driver);
+            MAINTENANCE.execute(pool::warmUp);
+        } else if (resetDriver(driver)) {
+            pool.idle.offerFirst(new PooledDriver(driver));
+            log.info("Returned {} driver to pool (idle: {})", pool.browser, pool.idle.size());
+        } else {
+            log.warn("Discarding {} driver that could not be reset", pool.browser);
+            pool.destroy(driver);
+        }
+    }
+
+    /**
+     * Quits every pooled driver, leased or idle. Intended for suite teardown.
+     */
+    public static void shutdown() {
+        List<WebDriver> leased;
+        synchronized (LEASED) {
+            leased = new ArrayList<>(LEASED.keySet());
+            LEASED.clear();
+        }
+        leased.forEach(DriverFactory::quitDriver);
+
+        for (BrowserPool pool : POOLS.values()) {
+            PooledDriver pooled;
+            while ((pooled = pool.idle.pollFirst()) != null) {
+                DriverFactory.quitDriver(pooled.driver);
+            }
+        }
+        POOLS.clear();
+        log.info("Driver pool shut down, {} leased drivers quit", leased.size());
+    }
+
+    /**
+     * Clears cookies and web storage, closes extra tabs and parks the driver on a blank page.
+     * Drivers bound to a shared-process browser context only touch their own context's windows.
+     *
+     * @return true if the driver is reusable, false otherwise
+     */
+    private static boolean resetDriver(WebDriver driver) {
+        try {
+            boolean context = BrowserContextManager.owns(driver);
+            Set<String> handles = context ? BrowserContextManager.getContextHandles(driver) : driver.getWindowHandles();
+            String primary = context ? BrowserContextManager.getPrimaryHandle(driver) : handles.iterator().next();
+            if (!handles.contains(primary)) {
+                log.warn("Primary window of pooled driver is gone");
+                return false;
+            }
+            for (String handle : handles) {
+                if (!handle.equals(primary)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(primary);
+
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            if (driver instanceof HasCdp) {
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            }
+            driver.manage().deleteAllCookies();
+            driver.get(BLANK_PAGE);
+            return true;
+        } catch (Exception e) {
+            log.warn("Failed to reset pooled driver: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean isAlive(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static void evictIdleDrivers() {
+        long idleLimitMillis = TimeUnit.SECONDS.toMillis(ConfigManager.getDriverPoolIdleTimeout());
+        long now = System.currentTimeMillis();
+
+        for (BrowserPool pool : POOLS.values()) {
+            for (PooledDriver pooled : pool.idle) {
+                if (pool.total.get() <= pool.minSize) {
+                    break;
+                }
+                if (now - pooled.returnedAt > idleLimitMillis && pool.idle.remove(pooled)) {
+                    log.info("Evicting {} driver idle for {} ms", pool.browser, now - pooled.returnedAt);
+                    pool.destroy(pooled.driver);
+                }
+            }
+        }
+    }
+
+    /**
+     * Idle and in-use bookkeeping for a single browser type.
+     */
+    private static class BrowserPool {
+        private final String browser;
+        private final int minSize;
+        private final int maxSize;
+        private final LinkedBlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+        private final AtomicInteger total = new AtomicInteger();
+
+        BrowserPool(String browser) {
+            this.browser = browser;
+            this.maxSize = Math.max(1, ConfigManager.getDriverPoolMaxSize(browser));
+            this.minSize = Math.min(maxSize, Math.max(0, ConfigManager.getDriverPoolMinSize(browser)));
+            log.info("Created {} driver pool (min: {}, max: {})", browser, minSize, maxSize);
+
+            // The first lease creates its own driver; warm the rest of the minimum in the background
+            for (int i = 1; i < minSize; i++) {
+                MAINTENANCE.execute(this::warmUp);
+            }
+        }
+
+        WebDriver take() {
+            long deadline = System.currentTimeMillis()
+                    + TimeUnit.SECONDS.toMillis(ConfigManager.getDriverPoolLeaseTimeout());
+
+            PooledDriver pooled = idle.pollFirst();
+            while (true) {
+                if (pooled != null) {
+                    if (isAlive(pooled.driver)) {
+                        return pooled.driver;
+                    }
+                    log.warn("Pooled {} driver is no longer responsive, discarding", browser);
+                    destroy(pooled.driver);
+                }
+
+                if (total.incrementAndGet() <= maxSize) {
+                    return create();
+                }
+                total.decrementAndGet();
+
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new RuntimeException("Timed out waiting for a pooled " + browser + " driver");
+                }
+                try {
+                    // Re-check capacity periodically in case a driver was destroyed rather than returned
+                    pooled = idle.pollFirst(Math.min(remaining, 1000), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for a pooled " + browser + " driver", e);
+                }
+            }
+        }
+
+        private WebDriver create() {
+            try {
+                return DriverFactory.newSession(browser);
+            } catch (RuntimeException e) {
+                total.decrementAndGet();
+                throw e;
+            }
+        }
+
+        private void warmUp() {
+            if (total.incrementAndGet() > maxSize) {
+                total.decrementAndGet();
+                return;
+            }
+            WebDriver driver = null;
+            try {
+                driver = create();
+                driver.get(BLANK_PAGE);
+                idle.offerLast(new PooledDriver(driver));
+                log.info("Warmed {} driver (idle: {})", browser, idle.size());
+            } catch (Exception e) {
+                // create() gives the slot back itself when it fails; a created driver must be quit
+                if (driver != null) {
+                    destroy(driver);
+                }
+                log.warn("Failed to warm {} driver: {}", browser, e.getMessage());
+            }
+        }
+
+        void destroy(WebDriver driver) {
+            total.decrementAndGet();
+            DriverFactory.quitDriver(driver);
+        }
+    }
+
+    private static class PooledDriver {
+        private final WebDriver driver;
+        private final long returnedAt;
+
+        PooledDriver(WebDriver driver) {
+            this.driver = driver;
+            this.returnedAt = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.balsamhill.automation.drivers;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.utils.ConfigManager;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the next drivers for a test thread in the background while the current test runs.
+ * Each thread has its own queue per browser type, filled up to the configured lookahead with
+ * sessions that are already on the base URL, so the next setUp only has to pick one up.
+ */
+public class DriverPrefetcher {
+
+    private static final LoggerWrapper log = new LoggerWrapper(DriverPrefetcher.class);
+
+    private static final Map<String, Deque<Future<WebDriver>>> QUEUES = new ConcurrentHashMap<>();
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService SPAWNERS = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "driver-prefetch-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static volatile boolean closed;
+
+    private DriverPrefetcher() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isDriverPrefetchEnabled();
+    }
+
+    /**
+     * Returns a driver for the calling thread, taking a pre-spawned one if available and
+     * creating one synchronously otherwise. Either way, the thread's queue is topped up again.
+     *
+     * @param browser The browser type (chrome, firefox, edge)
+     * @param baseUrl The URL pre-spawned drivers are warmed on
+     * @return A driver already navigated to the base URL
+     */
+    public static WebDriver take(String browser, String baseUrl) {
+        Deque<Future<WebDriver>> queue = QUEUES.computeIfAbsent(key(browser), k -> new ConcurrentLinkedDeque<>());
+
+        WebDriver driver = null;
+        Future<WebDriver> next;
+        while (driver == null && (next = queue.pollFirst()) != null) {
+            try {
+                driver = next.get();
+                log.info("Picked up pre-spawned {} driver", browser);
+            } catch (ExecutionException e) {
+                log.warn("Pre-spawned {} driver failed to start: {}", browser, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for pre-spawned driver", e);
+            }
+        }
+        if (driver == null) {
+            driver = spawn(browser, baseUrl);
+        }
+
+        int lookahead = ConfigManager.getDriverPrefetchLookahead();
+        while (!closed && queue.size() < lookahead) {
+            queue.addLast(SPAWNERS.submit(() -> spawnUnlessClosed(browser, baseUrl)));
+        }
+        return driver;
+    }
+
+    /**
+     * Quits every pre-spawned driver that was never picked up, waiting for launches still in
+     * progress. Intended for suite teardown.
+     */
+    public static void shutdown() {
+        closed = true;
+        List<Future<WebDriver>> pending = new ArrayList<>();
+        QUEUES.values().forEach(queue -> {
+            Future<WebDriver> next;
+            while ((next = queue.pollFirst()) != null) {
+                pending.add(next);
+            }
+        });
+        QUEUES.clear();
+
+        int discarded = 0;
+        for (Future<WebDriver> future : pending) {
+            try {
+                WebDriver driver = future.get(ConfigManager.getPageLoadTimeout(), TimeUnit.SECONDS);
+                if (driver != null) {
+                    DriverFactory.quitDriver(driver);
+                    discarded++;
+                }
+            } catch (ExecutionException e) {
+                log.debug("Ignoring failed pre-spawn during shutdown: {}", e.getCause().getMessage());
+            } catch (TimeoutException e) {
+                log.warn("Pre-spawned driver still launching at shutdown; it will quit itself when ready");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        SPAWNERS.shutdown();
+        log.info("Driver prefetcher shut down, {} unused drivers discarded", discarded);
+    }
+
+    private static WebDriver spawnUnlessClosed(String browser, String baseUrl) {
+        WebDriver driver = spawn(browser, baseUrl);
+        if (closed) {
+            DriverFactory.quitDriver(driver);
+            return null;
+        }
+        return driver;
+    }
+
+    private static WebDriver spawn(String browser, String baseUrl) {
+        WebDriver driver = DriverFactory.newSession(browser);
+        try {
+            driver.get(baseUrl);
+        } catch (RuntimeException e) {
+            DriverFactory.quitDriver(driver);
+            throw e;
+        }
+        return driver;
+    }
+
+    private static String key(String browser) {
+        return Thread.currentThread().getId() + ":" + browser;
+    }
+}
@@ -0,0 +1,91 @@
+package com.balsamhill.automation.drivers;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Tracks the driver-service process (chromedriver, msedgedriver, geckodriver) behind each
+ * WebDriver so a hung browser can be killed together with its child processes.
+ */
+public class DriverProcesses {
+
+    private static final LoggerWrapper log = new LoggerWrapper(DriverProcesses.class);
+
+    private static final Map<WebDriver, Long> DRIVER_PIDS = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private DriverProcesses() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Records the process of the driver service started for the given driver. The service is
+     * a direct child of this JVM and is identified by the port it was started on.
+     *
+     * @param driver  The newly created driver
+     * @param service The driver service the driver talks to
+     */
+    public static void register(WebDriver driver, DriverService service) {
+        String portArgument = "--port=" + service.getUrl().getPort();
+        Optional<ProcessHandle> process = ProcessHandle.current().children()
+                .filter(child -> child.info().arguments()
+                        .map(args -> Arrays.asList(args).contains(portArgument))
+                        .orElse(false))
+                .findFirst();
+
+        if (process.isPresent()) {
+            DRIVER_PIDS.put(driver, process.get().pid());
+            OrphanProcessReaper.record(process.get());
+            log.debug("Registered driver process {} for service {}", process.get().pid(), service.getUrl());
+        } else {
+            log.debug("Could not identify driver process for service {}", service.getUrl());
+        }
+    }
+
+    /**
+     * @return The live driver-service process for the given driver, if known
+     */
+    public static Optional<ProcessHandle> driverProcess(WebDriver driver) {
+        Long pid = DRIVER_PIDS.get(driver);
+        return pid == null ? Optional.empty() : ProcessHandle.of(pid).filter(ProcessHandle::isAlive);
+    }
+
+    /**
+     * Forcibly kills the browser processes and the driver service behind the given driver.
+     *
+     * @return Number of processes killed
+     */
+    public static int forceKill(WebDriver driver) {
+        Optional<ProcessHandle> process = driverProcess(driver);
+        if (process.isEmpty()) {
+            log.warn("No known driver process to kill");
+            return 0;
+        }
+
+        int killed = 0;
+        // Kill browsers first so they cannot be re-parented and left running
+        for (ProcessHandle descendant : (Iterable<ProcessHandle>) process.get().descendants()::iterator) {
+            if (descendant.destroyForcibly()) {
+                killed++;
+            }
+        }
+        if (process.get().destroyForcibly()) {
+            killed++;
+        }
+        log.warn("Force-killed {} processes for driver process {}", killed, process.get().pid());
+        return killed;
+    }
+
+    /**
+     * Drops bookkeeping for a driver that has been quit.
+     */
+    public static void forget(WebDriver driver) {
+        DRIVER_PIDS.remove(driver);
+    }
+}
@@ -0,0 +1,149 @@
+package com.balsamhill.automation.drivers;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.utils.ConfigManager;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Quits drivers on background threads so test threads do not block on slow browser shutdown.
+ * The work queue is bounded; when it is full the calling thread quits the driver itself.
+ * Every quit has a hard timeout after which the driver and browser processes are force-killed.
+ */
+public class DriverQuitReaper {
+
+    private static final LoggerWrapper log = new LoggerWrapper(DriverQuitReaper.class);
+
+    private static final Map<String, QuitStats> STATS = new ConcurrentHashMap<>();
+
+    private static final ThreadPoolExecutor QUITTERS = createQuitters();
+
+    private static final ScheduledExecutorService WATCHDOG = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "driver-quit-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DriverQuitReaper() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isAsyncTeardownEnabled();
+    }
+
+    /**
+     * Queues the given quit action for background execution.
+     *
+     * @param driver  The driver being quit, used to force-kill its processes on timeout
+     * @param browser The browser type, used for metrics
+     * @param quit    The action that quits the driver
+     */
+    public static void submit(WebDriver driver, String browser, Runnable quit) {
+        QUITTERS.execute(() -> quitWithTimeout(driver, browser, quit));
+    }
+
+    /**
+     * Runs the given quit action on the calling thread, still guarded by the hard timeout.
+     */
+    public static void quitWithTimeout(WebDriver driver, String browser, Runnable quit) {
+        AtomicInteger forced = new AtomicInteger();
+        ScheduledFuture<?> killer = WATCHDOG.schedule(() -> {
+            log.warn("Quit of {} driver exceeded {}s, force-killing its processes",
+                    browser, ConfigManager.getQuitTimeout());
+            forced.set(DriverProcesses.forceKill(driver));
+        }, ConfigManager.getQuitTimeout(), TimeUnit.SECONDS);
+
+        long start = System.nanoTime();
+        try {
+            quit.run();
+        } finally {
+            killer.cancel(false);
+            long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            STATS.computeIfAbsent(browser, b -> new QuitStats()).record(elapsedMillis, forced.get() > 0);
+            log.debug("Quit {} driver in {} ms", browser, elapsedMillis);
+        }
+    }
+
+    /**
+     * Waits for queued quits to finish. Intended for suite teardown.
+     *
+     * @param timeoutSeconds Maximum time to wait for the queue to drain
+     */
+    public static void awaitPending(int timeoutSeconds) {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        while ((QUITTERS.getActiveCount() > 0 || !QUITTERS.getQueue().isEmpty())
+                && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (QUITTERS.getActiveCount() > 0 || !QUITTERS.getQueue().isEmpty()) {
+            log.warn("Driver quits still pending after {} seconds", timeoutSeconds);
+        }
+    }
+
+    /**
+     * @return Quit duration metrics per browser
+     */
+    public static String getMetrics() {
+        StringBuilder report = new StringBuilder("Driver quit metrics:");
+        new TreeMap<>(STATS).forEach((browser, stats) -> report.append("\n  ").append(browser).append(": ").append(stats));
+        return report.toString();
+    }
+
+    private static ThreadPoolExecutor createQuitters() {
+        int workers = Math.max(1, ConfigManager.getTeardownWorkers());
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, ConfigManager.getTeardownQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "driver-quit-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Quit duration counters for one browser type.
+     */
+    private static class QuitStats {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMillis = new AtomicLong();
+        private final AtomicLong maxMillis = new AtomicLong();
+        private final AtomicLong forcedKills = new AtomicLong();
+
+        void record(long elapsedMillis, boolean forced) {
+            count.incrementAndGet();
+            totalMillis.addAndGet(elapsedMillis);
+            maxMillis.accumulateAndGet(elapsedMillis, Math::max);
+            if (forced) {
+                forcedKills.incrementAndGet();
+            }
+        }
+
+        @Override
+        public String toString() {
+            long quits = count.get();
+            return String.format("%d quits, avg %d ms, max %d ms, %d force-killed",
+                    quits, quits == 0 ? 0 : totalMillis.get() / quits, maxMillis.get(), forcedKills.get());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.balsamhill.automation.drivers;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.reports.AllureReportManager;
+import com.balsamhill.automation.utils.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks how worn each driver is (commands issued, age, browser resident memory) and decides
+ * when a reused driver should be replaced instead of handed to the next test. Thresholds of
+ * zero disable the corresponding check.
+ */
+public class DriverRecycler {
+
+    private static final LoggerWrapper log = new LoggerWrapper(DriverRecycler.class);
+
+    private static final Map<WebDriver, Usage> USAGE = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static final Map<String, AtomicLong> RECYCLES = new ConcurrentHashMap<>();
+
+    private DriverRecycler() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Starts tracking a newly created driver.
+     *
+     * @param driver  The undecorated driver
+     * @param browser The browser type (chrome, firefox, edge)
+     */
+    public static void track(WebDriver driver, String browser) {
+        USAGE.put(driver, new Usage(browser));
+    }
+
+    /**
+     * Wraps the driver so every WebDriver and WebElement call is counted. The decorated driver
+     * is what tests see; bookkeeping keeps using the original, see
+     * {@link DriverManager#getOriginalDriver()}. Returns the driver unchanged when command
+     * counting is disabled.
+     *
+     * @param driver The undecorated driver
+     * @return The driver tests should use
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        Usage usage = USAGE.get(driver);
+        if (usage == null || ConfigManager.getRecycleMaxCommands() <= 0) {
+            return driver;
+        }
+        return new EventFiringDecorator<>(new CommandCounter(usage)).decorate(driver);
+    }
+
+    /**
+     * Checks the configured thresholds for the given driver.
+     *
+     * @param driver The undecorated driver
+     * @return The reason the driver should be replaced, or empty if it can be reused
+     */
+    public static Optional<String> recycleReason(WebDriver driver) {
+        Usage usage = USAGE.get(driver);
+        if (usage == null) {
+            return Optional.empty();
+        }
+
+        long maxCommands = ConfigManager.getRecycleMaxCommands();
+        if (maxCommands > 0 && usage.commands.get() >= maxCommands) {
+            return Optional.of(String.format("commands %d reached limit %d", usage.commands.get(), maxCommands));
+        }
+
+        long maxAgeMinutes = ConfigManager.getRecycleMaxAgeMinutes();
+        long ageMinutes = TimeUnit.MILLISECONDS.toMinutes(System.currentTimeMillis() - usage.createdAt);
+        if (maxAgeMinutes > 0 && ageMinutes >= maxAgeMinutes) {
+            return Optional.of(String.format("age %d min reached limit %d min", ageMinutes, maxAgeMinutes));
+        }
+
+        long maxRssMb = ConfigManager.getRecycleMaxRssMb();
+        if (maxRssMb > 0) {
+            long rssMb = residentMemoryMb(driver);
+            if (rssMb >= maxRssMb) {
+                return Optional.of(String.format("rss %d MB reached limit %d MB", rssMb, maxRssMb));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Records and reports that a driver is being replaced.
+     *
+     * @param driver The undecorated driver being recycled
+     * @param reason The reason returned by {@link #recycleReason(WebDriver)}
+     */
+    public static void reportRecycle(WebDriver driver, String reason) {
+        Usage usage = USAGE.get(driver);
+        String browser = usage == null ? "unknown" : usage.browser;
+        // Reasons start with the name of the threshold that was crossed
+        RECYCLES.computeIfAbsent(reason.split(" ")[0], r -> new AtomicLong()).incrementAndGet();
+
+        String message = String.format("Recycling %s driver: %s", browser, reason);
+        log.info(message);
+        AllureReportManager.attachText("Driver Recycled", message);
+    }
+
+    /**
+     * @return Number of recycles per reason
+     */
+    public static String getSummary() {
+        return "Driver recycles by reason: " + new TreeMap<>(RECYCLES);
+    }
+
+    /**
+     * Drops bookkeeping for a driver that is being quit.
+     */
+    public static void forget(WebDriver driver) {
+        USAGE.remove(driver);
+    }
+
+    /**
+     * Sums VmRSS from /proc for the browser processes under the driver service.
+     * Returns 0 where /proc is not available.
+     */
+    private static long residentMemoryMb(WebDriver driver) {
+        Optional<ProcessHandle> driverProcess = DriverProcesses.driverProcess(driver);
+        if (driverProcess.isEmpty()) {
+            return 0;
+        }
+        List<ProcessHandle> processes = new ArrayList<>();
+        processes.add(driverProcess.get());
+        driverProcess.get().descendants().forEach(processes::add);
+
+        long rssKb = 0;
+        for (ProcessHandle process : processes) {
+            Path status = Paths.get("/proc", String.valueOf(process.pid()), "status");
+            try {
+                for (String line : Files.readAllLines(status)) {
+                    if (line.startsWith("VmRSS:")) {
+                        rssKb += Long.parseLong(line.replaceAll("\\D", ""));
+                        break;
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // Process exited or /proc is unavailable
+            }
+        }
+        return rssKb / 1024;
+    }
+
+    private static class Usage {
+        private final String browser;
+        private final long createdAt = System.currentTimeMillis();
+        private final AtomicLong commands = new AtomicLong();
+
+        Usage(String browser) {
+            this.browser = browser;
+        }
+    }
+
+    /**
+     * Counts every call made through the decorated driver and the elements it returns.
+     */
+    private static class CommandCounter implements WebDriverListener {
+        private final Usage usage;
+
+        CommandCounter(Usage usage) {
+            this.usage = usage;
+        }
+
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            usage.commands.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.balsamhill.automation.drivers;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.utils.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Counts in-flight network requests per driver from DevTools Network events, so tests can wait
+ * for the page's XHR/fetch traffic to settle without any round trip to the browser. Requests
+ * whose URL does not pass the configured include/exclude filters are ignored, as are documents,
+ * images, scripts and other non-XHR/fetch resources, matching the in-page fallback counter.
+ */
+public class NetworkActivityTracker {
+
+    private static final LoggerWrapper log = new LoggerWrapper(NetworkActivityTracker.class);
+
+    private static final Set<String> TRACKED_TYPES = Set.of("XHR", "Fetch");
+
+    private static final Map<WebDriver, Activity> ACTIVITY = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private NetworkActivityTracker() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isNetworkIdleDevToolsEnabled();
+    }
+
+    /**
+     * Starts tracking requests on a newly created Chromium driver. Other drivers are left alone
+     * and callers fall back to an in-page request counter.
+     *
+     * @param driver  The driver to track
+     * @param browser The browser type (chrome, firefox, edge)
+     */
+    public static void apply(WebDriver driver, String browser) {
+        if (!isEnabled() || !(driver instanceof HasDevTools) || "firefox".equals(browser)) {
+            return;
+        }
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+
+            Activity activity = new Activity(compile(ConfigManager.getNetworkIdleInclude()),
+                    compile(ConfigManager.getNetworkIdleExclude()));
+
+            devTools.addListener(event("Network.requestWillBeSent"), sent -> {
+                Object request = sent.get("request");
+                String url = request instanceof Map ? String.valueOf(((Map<?, ?>) request).get("url")) : "";
+                if (TRACKED_TYPES.contains(String.valueOf(sent.get("type"))) && activity.matches(url)) {
+                    activity.started(String.valueOf(sent.get("requestId")));
+                }
+            });
+            devTools.addListener(event("Network.loadingFinished"),
+                    finished -> activity.ended(String.valueOf(finished.get("requestId"))));
+            devTools.addListener(event("Network.loadingFailed"),
+                    failed -> activity.ended(String.valueOf(failed.get("requestId"))));
+            devTools.send(new Command<Void>("Network.enable", Map.of()));
+
+            ACTIVITY.put(driver, activity);
+            log.info("DevTools network activity tracking enabled for {}", browser);
+        } catch (Exception e) {
+            log.warn("Network activity tracking could not be applied for {}: {}", browser, e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether requests of the given driver are tracked through DevTools.
+     */
+    public static boolean isTracking(WebDriver driver) {
+        return driver != null && ACTIVITY.containsKey(driver);
+    }
+
+    /**
+     * Returns how long the driver has had no tracked request in flight.
+     *
+     * @param driver               The undecorated driver
+     * @param maxRequestAgeMillis  Requests pending longer than this are treated as long polls and ignored
+     * @return Milliseconds since the network became idle, or -1 if requests are still in flight
+     */
+    public static long idleMillis(WebDriver driver, long maxRequestAgeMillis) {
+        Activity activity = ACTIVITY.get(driver);
+        return activity == null ? -1 : activity.idleMillis(maxRequestAgeMillis);
+    }
+
+    /**
+     * Drops bookkeeping for a driver that is being quit.
+     */
+    public static void forget(WebDriver driver) {
+        ACTIVITY.remove(driver);
+    }
+
+    private static Event<Map<String, Object>> event(String name) {
+        return new Event<>(name, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static List<Pattern> compile(List<String> globs) {
+        return globs.stream()
+                .map(glob -> Pattern.compile(Arrays.stream(glob.split("\\*", -1))
+                        .map(Pattern::quote)
+                        .collect(Collectors.joining(".*"))))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * In-flight requests and the time the driver last became idle.
+     */
+    private static class Activity {
+        private final List<Pattern> include;
+        private final List<Pattern> exclude;
+        private final Map<String, Long> inFlight = new ConcurrentHashMap<>();
+        private volatile long lastChange = System.currentTimeMillis();
+
+        Activity(List<Pattern> include, List<Pattern> exclude) {
+            this.include = include;
+            this.exclude = exclude;
+        }
+
+        boolean matches(String url) {
+            if (!include.isEmpty() && include.stream().noneMatch(p -> p.matcher(url).matches())) {
+                return false;
+            }
+            return exclude.stream().noneMatch(p -> p.matcher(url).matches());
+        }
+
+        void started(String requestId) {
+            // Redirects reuse the request id; keep the original start time
+            inFlight.putIfAbsent(requestId, System.currentTimeMillis());
+            lastChange = System.currentTimeMillis();
+        }
+
+        void ended(String requestId) {
+            if (inFlight.remove(requestId) != null) {
+                lastChange = System.currentTimeMillis();
+            }
+        }
+
+        long idleMillis(long maxRequestAgeMillis) {
+            long now = System.currentTimeMillis();
+            boolean busy = inFlight.values().stream().anyMatch(started -> now - started < maxRequestAgeMillis);
+            return busy ? -1 : now - lastChange;
+        }
+    }
+}
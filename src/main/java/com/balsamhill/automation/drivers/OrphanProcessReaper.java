@@ -0,0 +1,261 @@
+package com.balsamhill.automation.drivers;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.utils.ConfigManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kills driver and browser processes left behind by failed quits or killed JVMs.
+ * Every driver service and browser process this JVM spawns is appended to a ledger file.
+ * At suite start the ledgers of dead JVMs are replayed and any survivors are killed, and
+ * orphaned driver services (re-parented to init) are reclaimed. At suite end the survivors
+ * from this JVM's own ledger are killed.
+ */
+public class OrphanProcessReaper {
+
+    private static final LoggerWrapper log = new LoggerWrapper(OrphanProcessReaper.class);
+
+    private static final Set<String> DRIVER_COMMANDS = Set.of("chromedriver", "msedgedriver", "geckodriver");
+    private static final String LEDGER_SUFFIX = ".pids";
+
+    private static final ProcessHandle SELF = ProcessHandle.current();
+    private static final String LEDGER_NAME = SELF.pid() + "-" + startMillis(SELF) + LEDGER_SUFFIX;
+
+    private static final AtomicInteger reclaimedDrivers = new AtomicInteger();
+    private static final AtomicInteger reclaimedBrowsers = new AtomicInteger();
+
+    private OrphanProcessReaper() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isProcessReaperEnabled();
+    }
+
+    /**
+     * Records a newly spawned driver service and the browser processes already started under it.
+     *
+     * @param driverProcess The driver service process
+     */
+    public static void record(ProcessHandle driverProcess) {
+        if (!isEnabled()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder(entry(driverProcess));
+        driverProcess.descendants().forEach(child -> lines.append(entry(child)));
+        try {
+            synchronized (OrphanProcessReaper.class) {
+                Files.createDirectories(getLedgerDir());
+                Files.writeString(getLedgerDir().resolve(LEDGER_NAME), lines, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to record driver process {}: {}", driverProcess.pid(), e.getMessage());
+        }
+    }
+
+    /**
+     * Kills processes recorded by JVMs that are no longer running, and driver services whose
+     * parent has exited. Intended for suite start.
+     *
+     * @return Number of processes killed
+     */
+    public static int reclaimOrphans() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        int before = getReclaimedCount();
+        for (Path ledger : listLedgers()) {
+            if (ledger.getFileName().toString().equals(LEDGER_NAME) || isOwnerAlive(ledger)) {
+                continue;
+            }
+            replay(ledger);
+            deleteQuietly(ledger);
+        }
+
+        if (ConfigManager.isReclaimOrphanedDrivers()) {
+            ProcessHandle.allProcesses()
+                    .filter(OrphanProcessReaper::isDriverCommand)
+                    .filter(process -> process.parent().map(parent -> parent.pid() == 1).orElse(false))
+                    .filter(process -> process.info().user().equals(SELF.info().user()))
+                    // When this JVM runs as PID 1 its own drivers look re-parented to init
+                    .filter(process -> !isOwnProcess(process))
+                    .forEach(OrphanProcessReaper::kill);
+        }
+
+        int reclaimed = getReclaimedCount() - before;
+        log.info("Orphan reaper reclaimed {} processes at suite start. {}", reclaimed, getSummary());
+        return reclaimed;
+    }
+
+    /**
+     * Kills processes recorded by this JVM that are still alive after teardown. Intended for
+     * suite end, once every driver has been quit.
+     *
+     * @return Number of processes killed
+     */
+    public static int reclaimOwn() {
+        if (!isEnabled()) {
+            return 0;
+        }
+        int before = getReclaimedCount();
+        Path ledger = getLedgerDir().resolve(LEDGER_NAME);
+        synchronized (OrphanProcessReaper.class) {
+            if (Files.exists(ledger)) {
+                replay(ledger);
+                deleteQuietly(ledger);
+            }
+        }
+        int reclaimed = getReclaimedCount() - before;
+        log.info("Orphan reaper reclaimed {} processes at suite end. {}", reclaimed, getSummary());
+        return reclaimed;
+    }
+
+    public static int getReclaimedDrivers() {
+        return reclaimedDrivers.get();
+    }
+
+    public static int getReclaimedBrowsers() {
+        return reclaimedBrowsers.get();
+    }
+
+    public static int getReclaimedCount() {
+        return reclaimedDrivers.get() + reclaimedBrowsers.get();
+    }
+
+    public static String getSummary() {
+        return String.format("Total reclaimed: %d driver processes, %d browser processes",
+                reclaimedDrivers.get(), reclaimedBrowsers.get());
+    }
+
+    /**
+     * Kills every live process in the ledger. A process only matches when its start time equals
+     * the recorded one, so a reused PID is never killed.
+     */
+    private static void replay(Path ledger) {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(ledger, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable process ledger {}: {}", ledger, e.getMessage());
+            return;
+        }
+        for (String line : lines) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length < 2) {
+                continue;
+            }
+            try {
+                long pid = Long.parseLong(parts[0]);
+                long recordedStart = Long.parseLong(parts[1]);
+                ProcessHandle.of(pid)
+                        .filter(ProcessHandle::isAlive)
+                        .filter(process -> startMillis(process) == recordedStart)
+                        .ifPresent(OrphanProcessReaper::kill);
+            } catch (NumberFormatException e) {
+                log.debug("Skipping malformed ledger line in {}: {}", ledger, line);
+            }
+        }
+    }
+
+    /**
+     * Kills a process and its descendants, children first.
+     */
+    private static void kill(ProcessHandle process) {
+        List<ProcessHandle> targets = new ArrayList<>();
+        process.descendants().forEach(targets::add);
+        targets.add(process);
+        for (ProcessHandle target : targets) {
+            if (target.isAlive() && target.destroyForcibly()) {
+                if (isDriverCommand(target)) {
+                    reclaimedDrivers.incrementAndGet();
+                } else {
+                    reclaimedBrowsers.incrementAndGet();
+                }
+                log.info("Killed leftover process {} ({})", target.pid(), target.info().command().orElse("unknown"));
+            }
+        }
+    }
+
+    /**
+     * A ledger is named after the JVM that wrote it: {@code <pid>-<startMillis>.pids}.
+     */
+    private static boolean isOwnerAlive(Path ledger) {
+        String name = ledger.getFileName().toString();
+        String[] parts = name.substring(0, name.length() - LEDGER_SUFFIX.length()).split("-");
+        try {
+            long pid = Long.parseLong(parts[0]);
+            long start = Long.parseLong(parts[1]);
+            return ProcessHandle.of(pid).filter(ProcessHandle::isAlive)
+                    .map(owner -> startMillis(owner) == start)
+                    .orElse(false);
+        } catch (RuntimeException e) {
+            log.debug("Unrecognized process ledger name: {}", name);
+            return true;
+        }
+    }
+
+    private static boolean isOwnProcess(ProcessHandle process) {
+        return process.pid() == SELF.pid() || SELF.descendants().anyMatch(own -> own.pid() == process.pid());
+    }
+
+    private static boolean isDriverCommand(ProcessHandle process) {
+        Optional<String> command = process.info().command();
+        if (command.isEmpty()) {
+            return false;
+        }
+        String executable = Paths.get(command.get()).getFileName().toString().replace(".exe", "");
+        return DRIVER_COMMANDS.contains(executable);
+    }
+
+    private static String entry(ProcessHandle process) {
+        return process.pid() + " " + startMillis(process) + System.lineSeparator();
+    }
+
+    private static long startMillis(ProcessHandle process) {
+        return process.info().startInstant().map(Instant::toEpochMilli).orElse(0L);
+    }
+
+    private static List<Path> listLedgers() {
+        List<Path> ledgers = new ArrayList<>();
+        Path dir = getLedgerDir();
+        if (!Files.isDirectory(dir)) {
+            return ledgers;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*" + LEDGER_SUFFIX)) {
+            stream.forEach(ledgers::add);
+        } catch (IOException e) {
+            log.warn("Failed to list process ledgers in {}: {}", dir, e.getMessage());
+        }
+        return ledgers;
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Failed to delete process ledger {}: {}", path, e.getMessage());
+        }
+    }
+
+    private static Path getLedgerDir() {
+        String configured = ConfigManager.getProcessLedgerDir();
+        if (configured != null && !configured.isEmpty()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "balsamhill", "process-ledger");
+    }
+}
@@ -0,0 +1,259 @@
+package com.balsamhill.automation.drivers;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.utils.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.bidi.module.Network;
+import org.openqa.selenium.bidi.network.AddInterceptParameters;
+import org.openqa.selenium.bidi.network.ContinueRequestParameters;
+import org.openqa.selenium.bidi.network.InterceptPhase;
+import org.openqa.selenium.bidi.network.RequestData;
+import org.openqa.selenium.bidi.network.UrlPattern;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.json.Json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Blocks resources that do not matter to functional checks (images, fonts, media, analytics)
+ * and counts what was blocked per driver. Chrome and Edge use DevTools request interception;
+ * Firefox uses preferences for images and fonts and WebDriver BiDi interception, limited to the
+ * blocked URL patterns' hosts, for the URL patterns. Other resource types are not blocked on Firefox.
+ */
+public class ResourceBlocker {
+
+    private static final LoggerWrapper log = new LoggerWrapper(ResourceBlocker.class);
+
+    private static final String FIREFOX = "firefox";
+
+    /**
+     * Firefox preferences that stop a resource type from loading at all.
+     * Requests blocked this way never reach the browser's network layer and are not counted.
+     */
+    private static final Map<String, Map<String, Object>> FIREFOX_PREFERENCES = Map.of(
+            "Image", Map.of("permissions.default.image", 2),
+            "Font", Map.of("gfx.downloadable_fonts.enabled", false)
+    );
+
+    private static final Map<WebDriver, BlockStats> STATS = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private ResourceBlocker() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isResourceBlockingEnabled();
+    }
+
+    /**
+     * Adds launch-time preferences for Firefox. Must be called before the driver is created.
+     *
+     * @param options The Firefox options being built
+     */
+    public static void configure(FirefoxOptions options) {
+        if (!isEnabled()) {
+            return;
+        }
+        for (String type : ConfigManager.getBlockedResourceTypes()) {
+            if (FIREFOX_PREFERENCES.containsKey(type)) {
+                FIREFOX_PREFERENCES.get(type).forEach(options::addPreference);
+            } else {
+                log.info("Resource type {} is not blocked on Firefox", type);
+            }
+        }
+        if (needsFirefoxInterception()) {
+            options.enableBiDi();
+        }
+        log.info("Firefox resource blocking preferences applied");
+    }
+
+    /**
+     * Starts request interception on a newly created driver.
+     *
+     * @param driver  The driver to apply the blocking policy to
+     * @param browser The browser type (chrome, firefox, edge)
+     */
+    public static void apply(WebDriver driver, String browser) {
+        if (!isEnabled()) {
+            return;
+        }
+        BlockStats stats = new BlockStats();
+        STATS.put(driver, stats);
+
+        try {
+            if (FIREFOX.equals(browser)) {
+                if (needsFirefoxInterception()) {
+                    applyBiDi(driver, stats);
+                }
+            } else if (driver instanceof HasDevTools) {
+                applyDevTools((HasDevTools) driver, stats);
+            }
+        } catch (Exception e) {
+            log.warn("Resource blocking could not be applied for {}: {}", browser, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a summary of what was blocked since the last call and resets the counters.
+     *
+     * @param driver The driver used by the test
+     * @return Human readable summary, or null if blocking is not active for the driver
+     */
+    public static String drainReport(WebDriver driver) {
+        BlockStats stats = driver == null ? null : STATS.get(driver);
+        if (stats == null) {
+            return null;
+        }
+        return stats.drain();
+    }
+
+    /**
+     * Drops bookkeeping for a driver that is being quit.
+     */
+    public static void forget(WebDriver driver) {
+        STATS.remove(driver);
+    }
+
+    private static void applyDevTools(HasDevTools driver, BlockStats stats) {
+        DevTools devTools = driver.getDevTools();
+        devTools.createSessionIfThereIsNotOne();
+
+        boolean measureBytes = ConfigManager.isResourceBlockingMeasureBytes();
+        String stage = measureBytes ? "Response" : "Request";
+
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        for (String type : ConfigManager.getBlockedResourceTypes()) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", stage));
+        }
+        for (String urlPattern : ConfigManager.getBlockedUrlPatterns()) {
+            patterns.add(Map.of("urlPattern", urlPattern, "requestStage", stage));
+        }
+
+        devTools.addListener(new Event<Map<String, Object>>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE)),
+                paused -> {
+                    Map<String, Object> params = new HashMap<>();
+                    params.put("requestId", paused.get("requestId"));
+                    params.put("errorReason", "BlockedByClient");
+                    devTools.send(new Command<Void>("Fetch.failRequest", params));
+                    stats.record(String.valueOf(paused.get("resourceType")), contentLength(paused));
+                });
+        devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+        log.info("DevTools resource blocking enabled with {} patterns at {} stage", patterns.size(), stage);
+    }
+
+    private static void applyBiDi(WebDriver driver, BlockStats stats) {
+        List<Pattern> urlPatterns = ConfigManager.getBlockedUrlPatterns().stream()
+                .map(ResourceBlocker::globToPattern)
+                .collect(Collectors.toList());
+        List<UrlPattern> hostPatterns = toHostPatterns(ConfigManager.getBlockedUrlPatterns());
+        if (hostPatterns.isEmpty()) {
+            return;
+        }
+
+        // Only requests to the blocked hosts pause; everything else never round-trips to Java
+        Network network = new Network(driver);
+        network.addIntercept(new AddInterceptParameters(InterceptPhase.BEFORE_REQUEST_SENT).urlPatterns(hostPatterns));
+        network.onBeforeRequestSent(event -> {
+            if (!event.isBlocked()) {
+                return;
+            }
+            RequestData request = event.getRequest();
+            if (urlPatterns.stream().anyMatch(p -> p.matcher(request.getUrl()).matches())) {
+                network.failRequest(request.getRequestId());
+                stats.record("Url", 0);
+            } else {
+                network.continueRequest(new ContinueRequestParameters(request.getRequestId()));
+            }
+        });
+        log.info("BiDi resource blocking enabled for {} host patterns", hostPatterns.size());
+    }
+
+    private static boolean needsFirefoxInterception() {
+        return !ConfigManager.getBlockedUrlPatterns().isEmpty();
+    }
+
+    /**
+     * BiDi URL patterns have no wildcards, so host globs such as {@code *hotjar.com*} become
+     * host patterns for the bare and the www host. Globs that are not a host are skipped.
+     */
+    private static List<UrlPattern> toHostPatterns(List<String> globs) {
+        List<UrlPattern> patterns = new ArrayList<>();
+        for (String glob : globs) {
+            String host = glob.replaceAll("^\\*+|\\*+$", "");
+            if (host.isEmpty() || host.contains("*") || host.contains("/")) {
+                log.warn("URL pattern {} is not a host and cannot be blocked on Firefox", glob);
+                continue;
+            }
+            patterns.add(new UrlPattern().hostname(host));
+            if (!host.startsWith("www.")) {
+                patterns.add(new UrlPattern().hostname("www." + host));
+            }
+        }
+        return patterns;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long contentLength(Map<String, Object> paused) {
+        Object headers = paused.get("responseHeaders");
+        if (!(headers instanceof List)) {
+            return 0;
+        }
+        for (Object header : (List<Object>) headers) {
+            Map<String, Object> entry = (Map<String, Object>) header;
+            if ("content-length".equalsIgnoreCase(String.valueOf(entry.get("name")))) {
+                try {
+                    return Long.parseLong(String.valueOf(entry.get("value")).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static Pattern globToPattern(String glob) {
+        return Pattern.compile(Arrays.stream(glob.split("\\*", -1))
+                .map(Pattern::quote)
+                .collect(Collectors.joining(".*")));
+    }
+
+    /**
+     * Blocked request and byte counters for one driver.
+     */
+    private static class BlockStats {
+        private final Map<String, AtomicLong> requestsByType = new ConcurrentHashMap<>();
+        private final AtomicLong bytes = new AtomicLong();
+
+        void record(String type, long byteCount) {
+            requestsByType.computeIfAbsent(type, t -> new AtomicLong()).incrementAndGet();
+            bytes.addAndGet(byteCount);
+        }
+
+        String drain() {
+            Map<String, Long> snapshot = new TreeMap<>();
+            requestsByType.forEach((type, count) -> snapshot.put(type, count.getAndSet(0)));
+            long total = snapshot.values().stream().mapToLong(Long::longValue).sum();
+            long byteCount = bytes.getAndSet(0);
+
+            String bytesText = ConfigManager.isResourceBlockingMeasureBytes()
+                    ? String.format("%,d bytes (from Content-Length)", byteCount)
+                    : "bytes not measured (set resourceBlocking.measureBytes)";
+            return String.format("Blocked %d requests, %s. By type: %s", total, bytesText, snapshot);
+        }
+    }
+}
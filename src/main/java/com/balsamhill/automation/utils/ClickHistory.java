@@ -0,0 +1,211 @@
+package com.balsamhill.automation.utils;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Counts attempts and confirmed successes of click strategies per browser and page element,
+ * across runs, so click fallbacks start with the strategy that has worked best. Only strategies
+ * with confirmed successes and a smoothed success rate better than a coin flip move ahead, best
+ * first; every other strategy keeps the caller's order behind them. Counts are halved
+ * once an element has {@value #MAX_ATTEMPTS} attempts on a strategy, so old outcomes fade, and
+ * every {@value #EXPLORE_EVERY}th ordering keeps the caller's order so demoted strategies get
+ * another chance.
+ */
+public class ClickHistory {
+
+    private static final LoggerWrapper log = new LoggerWrapper(ClickHistory.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final int ATTEMPTS = 0;
+    private static final int SUCCESSES = 1;
+
+    private static final long MAX_ATTEMPTS = 20;
+    private static final int EXPLORE_EVERY = 10;
+
+    /**
+     * browser|page|element -> strategy -> [attempts, successes]
+     */
+    private static final Map<String, Map<String, AtomicLongArray>> COUNTS = new ConcurrentHashMap<>();
+
+    private static final Map<String, AtomicInteger> ORDERINGS = new ConcurrentHashMap<>();
+
+    private static volatile boolean loaded;
+
+    private ClickHistory() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isClickHistoryEnabled();
+    }
+
+    /**
+     * Moves strategies with a proven success rate for the element to the front, best first.
+     * Strategies without successes keep the caller's order, so an untried or failing strategy
+     * never displaces the caller's first choice.
+     *
+     * @param driver     The driver the click runs on
+     * @param element    Page and element, e.g. "cart|delete button"
+     * @param strategies Strategy names in their default order
+     * @return A new list with the same strategies, reordered
+     */
+    public static List<String> order(WebDriver driver, String element, List<String> strategies) {
+        List<String> ordered = new ArrayList<>(strategies);
+        if (!isEnabled()) {
+            return ordered;
+        }
+        String key = key(driver, element);
+        if (ORDERINGS.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet() % EXPLORE_EVERY == 0) {
+            log.debug("Using default click order for {}", element);
+            return ordered;
+        }
+        Map<String, AtomicLongArray> counts = counts().get(key);
+        if (counts != null) {
+            // List.sort is stable, so unproven strategies keep their order behind the proven ones
+            ordered.sort(Comparator.comparingDouble((String strategy) -> provenRate(counts.get(strategy))).reversed());
+        }
+        return ordered;
+    }
+
+    /**
+     * Records the outcome of one click attempt. A success must be confirmed by the effect the
+     * click was meant to have, not just by the click not throwing.
+     */
+    public static void record(WebDriver driver, String element, String strategy, boolean success) {
+        if (!isEnabled()) {
+            return;
+        }
+        AtomicLongArray counts = counts().computeIfAbsent(key(driver, element), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(strategy, s -> new AtomicLongArray(2));
+        synchronized (counts) {
+            counts.incrementAndGet(ATTEMPTS);
+            if (success) {
+                counts.incrementAndGet(SUCCESSES);
+            }
+            if (counts.get(ATTEMPTS) > MAX_ATTEMPTS) {
+                counts.set(ATTEMPTS, counts.get(ATTEMPTS) / 2);
+                counts.set(SUCCESSES, counts.get(SUCCESSES) / 2);
+            }
+        }
+    }
+
+    /**
+     * @return Success rate of each strategy per browser, over all elements
+     */
+    public static String getSummary() {
+        Map<String, long[]> totals = new TreeMap<>();
+        COUNTS.forEach((key, strategies) -> {
+            String browser = key.substring(0, key.indexOf('|'));
+            strategies.forEach((strategy, counts) -> {
+                long[] total = totals.computeIfAbsent(browser + " " + strategy, k -> new long[2]);
+                total[ATTEMPTS] += counts.get(ATTEMPTS);
+                total[SUCCESSES] += counts.get(SUCCESSES);
+            });
+        });
+        return "Click strategy success rates: " + totals.entrySet().stream()
+                .map(e -> String.format("%s %d/%d (%d%%)", e.getKey(), e.getValue()[SUCCESSES], e.getValue()[ATTEMPTS],
+                        e.getValue()[ATTEMPTS] == 0 ? 0 : 100 * e.getValue()[SUCCESSES] / e.getValue()[ATTEMPTS]))
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    /**
+     * Writes the history file, replacing the previous one. Intended for suite teardown.
+     */
+    public static void save() {
+        if (!isEnabled() || !loaded) {
+            return;
+        }
+        Map<String, Map<String, long[]>> snapshot = new TreeMap<>();
+        COUNTS.forEach((key, strategies) -> {
+            Map<String, long[]> stored = new TreeMap<>();
+            strategies.forEach((strategy, counts) ->
+                    stored.put(strategy, new long[]{counts.get(ATTEMPTS), counts.get(SUCCESSES)}));
+            snapshot.put(key, stored);
+        });
+        Path file = getHistoryFile();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            MAPPER.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Click history saved for {} elements to {}", snapshot.size(), file);
+        } catch (IOException e) {
+            log.warn("Click history could not be saved to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * @return The smoothed success rate if the strategy has successes and beats a coin flip, else 0
+     */
+    private static double provenRate(AtomicLongArray counts) {
+        if (counts == null || counts.get(SUCCESSES) == 0) {
+            return 0;
+        }
+        double rate = (counts.get(SUCCESSES) + 1.0) / (counts.get(ATTEMPTS) + 2.0);
+        return rate > 0.5 ? rate : 0;
+    }
+
+    private static Map<String, Map<String, AtomicLongArray>> counts() {
+        if (!loaded) {
+            load();
+        }
+        return COUNTS;
+    }
+
+    private static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        Path file = getHistoryFile();
+        if (Files.exists(file)) {
+            try {
+                Map<String, Map<String, long[]>> stored = MAPPER.readValue(file.toFile(),
+                        new TypeReference<Map<String, Map<String, long[]>>>() {});
+                stored.forEach((key, strategies) -> {
+                    Map<String, AtomicLongArray> counts = new ConcurrentHashMap<>();
+                    strategies.forEach((strategy, values) -> counts.put(strategy, new AtomicLongArray(values)));
+                    COUNTS.put(key, counts);
+                });
+                log.info("Click history loaded for {} elements from {}", stored.size(), file);
+            } catch (IOException e) {
+                log.warn("Click history could not be read from {}, starting fresh: {}", file, e.getMessage());
+            }
+        }
+        loaded = true;
+    }
+
+    private static String key(WebDriver driver, String element) {
+        String browser = driver instanceof HasCapabilities
+                ? ((HasCapabilities) driver).getCapabilities().getBrowserName()
+                : "unknown";
+        return browser + "|" + element;
+    }
+
+    private static Path getHistoryFile() {
+        String configured = ConfigManager.getClickHistoryFile();
+        if (configured != null && !configured.isEmpty()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "balsamhill", "click-outcomes.json");
+    }
+}
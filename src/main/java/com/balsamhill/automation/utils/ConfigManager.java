@@ -169,6 +169,22 @@ public class ConfigManager {
         }
     }
 
+    /**
+     * Get nested decimal value
+     */
+    public static double getNestedDouble(String path, double defaultValue) {
+        try {
+            String value = getNestedProperty(path);
+            if (value.isEmpty()) {
+                return defaultValue;
+            }
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            log.warn("Invalid decimal value for '{}', using default: {}", path, defaultValue);
+            return defaultValue;
+        }
+    }
+
     /**
      * Get nested boolean value
      */
@@ -185,6 +201,34 @@ public class ConfigManager {
         }
     }
 
+    /**
+     * Get nested list of strings using dot notation. A single value is returned as a one-element list.
+     */
+    public static List<String> getNestedList(String path) {
+        if (config == null) {
+            loadConfig();
+        }
+
+        List<String> values = new ArrayList<>();
+        JsonNode current = config;
+        for (String part : path.split("\\.")) {
+            current = current.get(part);
+            if (current == null) {
+                log.debug("Configuration path not found: {}. Using empty list.", path);
+                return values;
+            }
+        }
+
+        if (current.isArray()) {
+            for (JsonNode item : current) {
+                values.add(item.asText());
+            }
+        } else if (!current.asText().isEmpty()) {
+            values.add(current.asText());
+        }
+        return values;
+    }
+
     /**
      * Get boolean value from configuration
      */
@@ -302,6 +346,10 @@ public class ConfigManager {
         return getNestedInt("timeout.pageLoad", 60);
     }
 
+    public static String getPageLoadStrategy(String browser) {
+        return getNestedProperty("pageLoadStrategy." + browser, "normal");
+    }
+
     public static int getMaxRetryAttempts() {
         return getNestedInt("retry.maxAttempts", 3);
     }
@@ -318,6 +366,186 @@ public class ConfigManager {
         return getNestedProperty("screenshot.path", "target/screenshots");
     }
 
+    public static boolean isDriverPoolEnabled() {
+        return getNestedBoolean("driverPool.enabled", false);
+    }
+
+    public static int getDriverPoolMinSize(String browser) {
+        return getNestedInt("driverPool.browsers." + browser + ".minSize", 0);
+    }
+
+    public static int getDriverPoolMaxSize(String browser) {
+        return getNestedInt("driverPool.browsers." + browser + ".maxSize", 3);
+    }
+
+    public static int getDriverPoolIdleTimeout() {
+        return getNestedInt("driverPool.idleTimeoutSeconds", 300);
+    }
+
+    public static int getDriverPoolLeaseTimeout() {
+        return getNestedInt("driverPool.leaseTimeoutSeconds", 120);
+    }
+
+    public static boolean isDriverPrefetchEnabled() {
+        return getNestedBoolean("driverPrefetch.enabled", false);
+    }
+
+    public static int getDriverPrefetchLookahead() {
+        return getNestedInt("driverPrefetch.lookahead", 1);
+    }
+
+    public static boolean isSharedBrowserEnabled() {
+        return getNestedBoolean("sharedBrowser.enabled", false);
+    }
+
+    public static boolean isDriverResolutionOffline() {
+        return getNestedBoolean("driverResolution.offline", false);
+    }
+
+    public static String getDriverManifestPath() {
+        return getNestedProperty("driverResolution.manifestPath", "");
+    }
+
+    public static boolean isResourceBlockingEnabled() {
+        return getNestedBoolean("resourceBlocking.enabled", false);
+    }
+
+    public static boolean isResourceBlockingMeasureBytes() {
+        return getNestedBoolean("resourceBlocking.measureBytes", false);
+    }
+
+    public static List<String> getBlockedResourceTypes() {
+        return getNestedList("resourceBlocking.resourceTypes");
+    }
+
+    public static List<String> getBlockedUrlPatterns() {
+        return getNestedList("resourceBlocking.urlPatterns");
+    }
+
+    public static boolean isInPageWaitEnabled() {
+        return getNestedBoolean("waits.inPage", true);
+    }
+
+    public static boolean isNetworkIdleDevToolsEnabled() {
+        return getNestedBoolean("waits.networkIdle.devTools", true);
+    }
+
+    public static long getNetworkIdleMillis() {
+        return getNestedInt("waits.networkIdle.idleMillis", 500);
+    }
+
+    public static int getNetworkIdleMaxRequestAge() {
+        return getNestedInt("waits.networkIdle.maxRequestAgeSeconds", 10);
+    }
+
+    public static List<String> getNetworkIdleInclude() {
+        return getNestedList("waits.networkIdle.include");
+    }
+
+    public static List<String> getNetworkIdleExclude() {
+        return getNestedList("waits.networkIdle.exclude");
+    }
+
+    public static int getTestWaitBudget() {
+        return getNestedInt("waits.budget.testSeconds", 0);
+    }
+
+    public static int getStepWaitBudget() {
+        return getNestedInt("waits.budget.stepSeconds", 0);
+    }
+
+    public static String getWaitReportPath() {
+        return getNestedProperty("waits.reportPath", "target/wait-report.json");
+    }
+
+    public static boolean isAdaptiveTimeoutEnabled() {
+        return getNestedBoolean("waits.adaptive.enabled", false);
+    }
+
+    public static String getWaitHistoryFile() {
+        return getNestedProperty("waits.adaptive.historyFile", "");
+    }
+
+    public static int getAdaptiveTimeoutMinSamples() {
+        return getNestedInt("waits.adaptive.minSamples", 5);
+    }
+
+    public static int getAdaptiveTimeoutMaxSamples() {
+        return getNestedInt("waits.adaptive.maxSamples", 100);
+    }
+
+    public static double getAdaptiveTimeoutPercentile() {
+        return getNestedDouble("waits.adaptive.percentile", 99);
+    }
+
+    public static double getAdaptiveTimeoutSafetyFactor() {
+        return getNestedDouble("waits.adaptive.safetyFactor", 2.0);
+    }
+
+    public static int getAdaptiveTimeoutMinSeconds() {
+        return getNestedInt("waits.adaptive.minSeconds", 2);
+    }
+
+    public static boolean isSelectorMemoryEnabled() {
+        return getNestedBoolean("selectorMemory.enabled", false);
+    }
+
+    public static String getSelectorMemoryFile() {
+        return getNestedProperty("selectorMemory.file", "");
+    }
+
+    public static boolean isClickHistoryEnabled() {
+        return getNestedBoolean("clickHistory.enabled", false);
+    }
+
+    public static String getClickHistoryFile() {
+        return getNestedProperty("clickHistory.file", "");
+    }
+
+    public static long getRecycleMaxCommands() {
+        return getNestedInt("recycle.maxCommands", 0);
+    }
+
+    public static long getRecycleMaxAgeMinutes() {
+        return getNestedInt("recycle.maxAgeMinutes", 0);
+    }
+
+    public static long getRecycleMaxRssMb() {
+        return getNestedInt("recycle.maxRssMb", 0);
+    }
+
+    public static boolean isAnimationFreeEnabled() {
+        return getNestedBoolean("animationFree.enabled", false);
+    }
+
+    public static boolean isAsyncTeardownEnabled() {
+        return getNestedBoolean("teardown.async", false);
+    }
+
+    public static int getTeardownWorkers() {
+        return getNestedInt("teardown.workers", 2);
+    }
+
+    public static int getTeardownQueueCapacity() {
+        return getNestedInt("teardown.queueCapacity", 16);
+    }
+
+    public static int getQuitTimeout() {
+        return getNestedInt("teardown.quitTimeoutSeconds", 20);
+    }
+
+    public static boolean isProcessReaperEnabled() {
+        return getNestedBoolean("processReaper.enabled", false);
+    }
+
+    public static String getProcessLedgerDir() {
+        return getNestedProperty("processReaper.ledgerDir", "");
+    }
+
+    public static boolean isReclaimOrphanedDrivers() {
+        return getNestedBoolean("processReaper.reclaimOrphanedDrivers", false);
+    }
+
     public static String getUsername() {
         String username = System.getenv("BALSAM_USERNAME");
         if (username == null || username.isEmpty()) {
@@ -0,0 +1,163 @@
+package com.balsamhill.automation.utils;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.By;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which of several candidate selectors worked for a page element, per browser, across
+ * runs, so fallback chains try the last winner first. Each hit raises a selector's score and each
+ * miss halves it, so a selector that stops matching after a site change loses its place quickly
+ * and is forgotten once its score decays away. The primary (first declared) selector always stays
+ * first: broad fallbacks can match the wrong element, and a fallback that once won must not stop
+ * the primary from being re-checked.
+ */
+public class SelectorMemory {
+
+    private static final LoggerWrapper log = new LoggerWrapper(SelectorMemory.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final double MAX_SCORE = 10;
+    private static final double MIN_SCORE = 0.1;
+
+    private static final Map<String, Map<String, Double>> SCORES = new ConcurrentHashMap<>();
+
+    private static volatile boolean loaded;
+
+    private SelectorMemory() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isSelectorMemoryEnabled();
+    }
+
+    /**
+     * Orders the fallback candidates by how well they worked before, best first, behind the
+     * primary candidate. Fallbacks without history keep their original relative order behind the
+     * remembered ones.
+     *
+     * @param driver     The driver the lookup runs on
+     * @param page       Page the element belongs to, e.g. "cart"
+     * @param purpose    What the element is, e.g. "delete button"
+     * @param candidates Candidate selectors in their default priority order, primary first
+     * @return A new list with the same candidates, fallbacks reordered
+     */
+    public static List<By> order(WebDriver driver, String page, String purpose, List<By> candidates) {
+        List<By> ordered = new ArrayList<>(candidates);
+        if (!isEnabled()) {
+            return ordered;
+        }
+        Map<String, Double> scores = scores().get(key(driver, page, purpose));
+        if (scores != null && !scores.isEmpty() && ordered.size() > 2) {
+            // List.sort is stable, so unscored candidates keep their order
+            ordered.subList(1, ordered.size()).sort(Comparator.comparingDouble((By by) -> scores.getOrDefault(by.toString(), 0.0)).reversed());
+            log.debug("Selector order for {} {}: {}", page, purpose, ordered);
+        }
+        return ordered;
+    }
+
+    /**
+     * Records that a candidate found the element.
+     */
+    public static void hit(WebDriver driver, String page, String purpose, By selector) {
+        if (isEnabled()) {
+            scoresFor(driver, page, purpose).merge(selector.toString(), 1.0, (old, one) -> Math.min(MAX_SCORE, old + one));
+        }
+    }
+
+    /**
+     * Records that a candidate was tried and did not find a usable element.
+     */
+    public static void miss(WebDriver driver, String page, String purpose, By selector) {
+        if (isEnabled()) {
+            scoresFor(driver, page, purpose).computeIfPresent(selector.toString(),
+                    (s, score) -> score / 2 < MIN_SCORE ? null : score / 2);
+        }
+    }
+
+    /**
+     * Writes the memory file, replacing the previous one. Intended for suite teardown.
+     */
+    public static void save() {
+        if (!isEnabled() || !loaded) {
+            return;
+        }
+        Map<String, Map<String, Double>> snapshot = new TreeMap<>();
+        SCORES.forEach((key, scores) -> {
+            if (!scores.isEmpty()) {
+                snapshot.put(key, new TreeMap<>(scores));
+            }
+        });
+        Path file = getMemoryFile();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), snapshot);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Selector memory saved for {} elements to {}", snapshot.size(), file);
+        } catch (IOException e) {
+            log.warn("Selector memory could not be saved to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Map<String, Double> scoresFor(WebDriver driver, String page, String purpose) {
+        return scores().computeIfAbsent(key(driver, page, purpose), k -> new ConcurrentHashMap<>());
+    }
+
+    private static Map<String, Map<String, Double>> scores() {
+        if (!loaded) {
+            load();
+        }
+        return SCORES;
+    }
+
+    private static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        Path file = getMemoryFile();
+        if (Files.exists(file)) {
+            try {
+                Map<String, Map<String, Double>> stored = MAPPER.readValue(file.toFile(),
+                        new TypeReference<Map<String, Map<String, Double>>>() {});
+                stored.forEach((key, scores) -> SCORES.put(key, new ConcurrentHashMap<>(scores)));
+                log.info("Selector memory loaded for {} elements from {}", stored.size(), file);
+            } catch (IOException e) {
+                log.warn("Selector memory could not be read from {}, starting fresh: {}", file, e.getMessage());
+            }
+        }
+        loaded = true;
+    }
+
+    private static String key(WebDriver driver, String page, String purpose) {
+        String browser = driver instanceof HasCapabilities
+                ? ((HasCapabilities) driver).getCapabilities().getBrowserName()
+                : "unknown";
+        return browser + "|" + page + "|" + purpose;
+    }
+
+    private static Path getMemoryFile() {
+        String configured = ConfigManager.getSelectorMemoryFile();
+        if (configured != null && !configured.isEmpty()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "balsamhill", "selector-memory.json");
+    }
+}
@@ -0,0 +1,186 @@
+package com.balsamhill.automation.utils;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-thread deadline for explicit waits. A test opens a budget in setUp and page objects open
+ * nested steps around their larger actions; every wait is clamped to the time left in the
+ * tightest enclosing scope, and once a scope runs out the next wait fails immediately, naming
+ * the step that used up the time. Budgets of zero seconds are unlimited.
+ */
+public class WaitBudget {
+
+    private static final LoggerWrapper log = new LoggerWrapper(WaitBudget.class);
+
+    private static final ThreadLocal<Deque<Scope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+    private static final ThreadLocal<Map<String, Long>> STEP_MILLIS = ThreadLocal.withInitial(LinkedHashMap::new);
+
+    private WaitBudget() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Opens the test-level budget for the calling thread, discarding anything left over from a
+     * previous test. Uses the configured test budget.
+     *
+     * @param testName Name reported when the budget runs out
+     */
+    public static void startTest(String testName) {
+        SCOPES.get().clear();
+        STEP_MILLIS.get().clear();
+        SCOPES.get().push(new Scope("test " + testName, ConfigManager.getTestWaitBudget()));
+    }
+
+    /**
+     * Closes the test-level budget and every step still open on the calling thread.
+     *
+     * @return Time spent per step, or null if no test budget was open
+     */
+    public static String endTest() {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            return null;
+        }
+        Scope test = scopes.peekLast();
+        String summary = String.format("Wait budget for %s: %d ms elapsed, steps %s",
+                test.name, test.elapsedMillis(), stepSummary());
+        SCOPES.remove();
+        STEP_MILLIS.remove();
+        return summary;
+    }
+
+    /**
+     * Opens a named step without a budget of its own. Waits inside it are still bound by the
+     * enclosing scopes, and a failure reports this step as the one that used up the time.
+     *
+     * @param name Step name used in failure messages
+     * @return The scope to close when the step ends
+     */
+    public static Scope step(String name) {
+        return step(name, ConfigManager.getStepWaitBudget());
+    }
+
+    /**
+     * Opens a named step with its own budget.
+     *
+     * @param name          Step name used in failure messages
+     * @param budgetSeconds Maximum total wait time for the step, 0 for unlimited
+     * @return The scope to close when the step ends
+     */
+    public static Scope step(String name, int budgetSeconds) {
+        Scope scope = new Scope(name, budgetSeconds);
+        SCOPES.get().push(scope);
+        return scope;
+    }
+
+    /**
+     * Clamps a wait timeout to the time left in the tightest enclosing scope. Rounds up so a
+     * wait always gets the last partial second.
+     *
+     * @param timeoutSeconds The timeout the caller asked for
+     * @return The timeout the wait may use
+     * @throws BudgetExhaustedException if an enclosing scope has no time left
+     */
+    public static int clamp(int timeoutSeconds) {
+        Scope tightest = tightest();
+        if (tightest == null) {
+            return timeoutSeconds;
+        }
+        long remaining = tightest.remainingMillis();
+        if (remaining <= 0) {
+            throw exhausted(tightest);
+        }
+        return (int) Math.min(timeoutSeconds, (remaining + 999) / 1000);
+    }
+
+    /**
+     * @return Milliseconds left in the tightest enclosing scope, or Long.MAX_VALUE without one
+     */
+    public static long remainingMillis() {
+        Scope tightest = tightest();
+        return tightest == null ? Long.MAX_VALUE : Math.max(0, tightest.remainingMillis());
+    }
+
+    private static Scope tightest() {
+        Scope tightest = null;
+        for (Scope scope : SCOPES.get()) {
+            if (scope.deadline != Long.MAX_VALUE
+                    && (tightest == null || scope.deadline < tightest.deadline)) {
+                tightest = scope;
+            }
+        }
+        return tightest;
+    }
+
+    private static BudgetExhaustedException exhausted(Scope scope) {
+        Scope current = SCOPES.get().peekFirst();
+        String message = String.format("Wait budget of %d s for %s exhausted in step '%s'; steps so far: %s",
+                scope.budgetSeconds, scope.name, current.name, stepSummary());
+        log.error(message);
+        return new BudgetExhaustedException(message);
+    }
+
+    private static String stepSummary() {
+        Map<String, Long> steps = new LinkedHashMap<>(STEP_MILLIS.get());
+        // Include open steps so the one that is still running shows up too
+        Iterator<Scope> open = SCOPES.get().descendingIterator();
+        while (open.hasNext()) {
+            Scope scope = open.next();
+            if (!scope.name.startsWith("test ")) {
+                steps.merge(scope.name + " (open)", scope.elapsedMillis(), Long::sum);
+            }
+        }
+        return steps.entrySet().stream()
+                .map(entry -> entry.getKey() + "=" + entry.getValue() + "ms")
+                .collect(Collectors.joining(", ", "[", "]"));
+    }
+
+    /**
+     * An open test or step. Closing a step records the time it took.
+     */
+    public static class Scope implements AutoCloseable {
+        private final String name;
+        private final int budgetSeconds;
+        private final long startedAt = System.currentTimeMillis();
+        private final long deadline;
+
+        private Scope(String name, int budgetSeconds) {
+            this.name = name;
+            this.budgetSeconds = budgetSeconds;
+            this.deadline = budgetSeconds > 0 ? startedAt + budgetSeconds * 1000L : Long.MAX_VALUE;
+        }
+
+        long remainingMillis() {
+            return deadline - System.currentTimeMillis();
+        }
+
+        long elapsedMillis() {
+            return System.currentTimeMillis() - startedAt;
+        }
+
+        @Override
+        public void close() {
+            if (SCOPES.get().remove(this)) {
+                STEP_MILLIS.get().merge(name, elapsedMillis(), Long::sum);
+            }
+        }
+    }
+
+    /**
+     * Thrown by a wait that starts after its test or step has used up its budget.
+     */
+    public static class BudgetExhaustedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        public BudgetExhaustedException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.balsamhill.automation.utils;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.By;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers how long locator waits took, per browser and condition, across runs. Once a locator
+ * has enough samples its timeout is derived from the recorded latencies (percentile times a
+ * safety factor), so waits for fast elements fail fast. A timed-out wait is recorded as a sample
+ * at its timeout, since the element took at least that long, and the next wait on that locator
+ * gets the caller's full timeout again. The learned value is raised to the configured minimum;
+ * probes never wait longer than asked, while waits for elements the caller expects may grow up
+ * to the explicit timeout.
+ */
+public class WaitHistory {
+
+    private static final LoggerWrapper log = new LoggerWrapper(WaitHistory.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Map<String, Samples> HISTORY = new ConcurrentHashMap<>();
+
+    private static volatile boolean loaded;
+
+    private WaitHistory() {
+        // Private constructor to prevent instantiation
+    }
+
+    public static boolean isEnabled() {
+        return ConfigManager.isAdaptiveTimeoutEnabled();
+    }
+
+    /**
+     * Derives the timeout for a locator wait from its history.
+     *
+     * @param driver           The driver the wait runs on
+     * @param condition        The condition waited for, e.g. "visible"
+     * @param locator          The element locator
+     * @param requestedSeconds The timeout the caller asked for
+     * @param mayGrow          Whether the learned timeout may exceed the requested one, up to the explicit timeout
+     * @return The learned timeout, or the requested one if there is too little history or the last wait timed out
+     */
+    public static int timeoutFor(WebDriver driver, String condition, By locator, int requestedSeconds, boolean mayGrow) {
+        if (!isEnabled()) {
+            return requestedSeconds;
+        }
+        Samples samples = history().get(key(driver, condition, locator));
+        if (samples == null || samples.size() < ConfigManager.getAdaptiveTimeoutMinSamples()) {
+            return requestedSeconds;
+        }
+        long percentileMillis = samples.percentile(ConfigManager.getAdaptiveTimeoutPercentile());
+        int learned = Math.max(ConfigManager.getAdaptiveTimeoutMinSeconds(),
+                (int) Math.ceil(percentileMillis * ConfigManager.getAdaptiveTimeoutSafetyFactor() / 1000.0));
+        int ceiling = mayGrow ? Math.max(requestedSeconds, ConfigManager.getExplicitTimeout()) : requestedSeconds;
+        int timeout = Math.min(ceiling, learned);
+        if (samples.timedOut()) {
+            // The learned value was too short last time; do not shorten again until a wait succeeds
+            timeout = Math.max(timeout, requestedSeconds);
+        }
+        if (timeout != requestedSeconds) {
+            log.debug("Adaptive timeout for {} {}: {} s instead of {} s", condition, locator, timeout, requestedSeconds);
+        }
+        return timeout;
+    }
+
+    /**
+     * Records how long a successful locator wait took.
+     */
+    public static void record(WebDriver driver, String condition, By locator, long millis) {
+        if (isEnabled()) {
+            history().computeIfAbsent(key(driver, condition, locator), k -> new Samples()).add(millis, false);
+        }
+    }
+
+    /**
+     * Records a locator wait that timed out after the given time. The sample is censored: the
+     * element took at least that long, so the percentile can only move up.
+     */
+    public static void recordTimeout(WebDriver driver, String condition, By locator, long millis) {
+        if (isEnabled()) {
+            history().computeIfAbsent(key(driver, condition, locator), k -> new Samples()).add(millis, true);
+        }
+    }
+
+    /**
+     * Writes the history file, replacing the previous one. Intended for suite teardown.
+     */
+    public static void save() {
+        if (!isEnabled() || !loaded) {
+            return;
+        }
+        Map<String, List<Long>> snapshot = new TreeMap<>();
+        HISTORY.forEach((key, samples) -> snapshot.put(key, samples.values()));
+        Path file = getHistoryFile();
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            MAPPER.writeValue(temp.toFile(), snapshot);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wait history saved for {} locators to {}", snapshot.size(), file);
+        } catch (IOException e) {
+            log.warn("Wait history could not be saved to {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static Map<String, Samples> history() {
+        if (!loaded) {
+            load();
+        }
+        return HISTORY;
+    }
+
+    private static synchronized void load() {
+        if (loaded) {
+            return;
+        }
+        Path file = getHistoryFile();
+        if (Files.exists(file)) {
+            try {
+                Map<String, List<Long>> stored = MAPPER.readValue(file.toFile(),
+                        new TypeReference<Map<String, List<Long>>>() {});
+                stored.forEach((key, values) -> {
+                    Samples samples = new Samples();
+                    values.forEach(value -> samples.add(value, false));
+                    HISTORY.put(key, samples);
+                });
+                log.info("Wait history loaded for {} locators from {}", stored.size(), file);
+            } catch (IOException e) {
+                log.warn("Wait history could not be read from {}, starting fresh: {}", file, e.getMessage());
+            }
+        }
+        loaded = true;
+    }
+
+    private static String key(WebDriver driver, String condition, By locator) {
+        String browser = driver instanceof HasCapabilities
+                ? ((HasCapabilities) driver).getCapabilities().getBrowserName()
+                : "unknown";
+        return browser + "|" + condition + "|" + locator;
+    }
+
+    private static Path getHistoryFile() {
+        String configured = ConfigManager.getWaitHistoryFile();
+        if (configured != null && !configured.isEmpty()) {
+            return Paths.get(configured);
+        }
+        return Paths.get(System.getProperty("user.home"), ".cache", "balsamhill", "wait-history.json");
+    }
+
+    /**
+     * The most recent wait durations of one locator, oldest overwritten first, and whether the
+     * latest wait timed out.
+     */
+    private static class Samples {
+        private final long[] ring = new long[ConfigManager.getAdaptiveTimeoutMaxSamples()];
+        private int next;
+        private int size;
+        private boolean timedOut;
+
+        synchronized void add(long millis, boolean timeout) {
+            ring[next] = millis;
+            next = (next + 1) % ring.length;
+            size = Math.min(size + 1, ring.length);
+            timedOut = timeout;
+        }
+
+        synchronized boolean timedOut() {
+            return timedOut;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long percentile(double percentile) {
+            long[] sorted = Arrays.copyOf(ring, size);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100.0 * size) - 1;
+            return sorted[Math.max(0, Math.min(index, size - 1))];
+        }
+
+        synchronized List<Long> values() {
+            List<Long> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(ring[(next - size + i + ring.length) % ring.length]);
+            }
+            return values;
+        }
+    }
+}
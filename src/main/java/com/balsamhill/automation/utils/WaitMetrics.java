@@ -0,0 +1,205 @@
+package com.balsamhill.automation.utils;
+
+import com.balsamhill.automation.logger.LoggerWrapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Latency histograms for every explicit wait, keyed by browser, condition and target (locator,
+ * element or page). Suite-wide histograms are shared between test threads and only use adders;
+ * per-test histograms are confined to the test's thread. Reports rank targets by total time
+ * spent waiting and by timeout rate.
+ */
+public class WaitMetrics {
+
+    private static final LoggerWrapper log = new LoggerWrapper(WaitMetrics.class);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Upper bucket bounds in milliseconds; one more bucket counts everything slower.
+     */
+    private static final long[] BOUNDS = {10, 25, 50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 30_000};
+
+    private static final int RANKED_ENTRIES = 20;
+
+    private static final Map<String, Histogram> SUITE = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Map<String, Histogram>> TEST = ThreadLocal.withInitial(HashMap::new);
+
+    public enum Outcome {
+        SATISFIED, TIMEOUT, ERROR
+    }
+
+    private WaitMetrics() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Records one finished wait.
+     *
+     * @param driver    The undecorated driver the wait ran on
+     * @param condition The condition waited for, e.g. "visible"
+     * @param target    What was waited on: a locator, an element or the page
+     * @param outcome   How the wait ended
+     * @param millis    Time until the condition held or the wait gave up
+     */
+    public static void record(WebDriver driver, String condition, Object target, Outcome outcome, long millis) {
+        String key = browser(driver) + "|" + condition + "|" + target;
+        SUITE.computeIfAbsent(key, k -> new Histogram()).add(outcome, millis);
+        TEST.get().computeIfAbsent(key, k -> new Histogram()).add(outcome, millis);
+    }
+
+    /**
+     * Starts a new per-test report on the calling thread.
+     */
+    public static void startTest() {
+        TEST.get().clear();
+    }
+
+    /**
+     * @return JSON report of the waits the calling thread's current test has made
+     */
+    public static String testReport() {
+        return report(TEST.get());
+    }
+
+    /**
+     * Writes the suite-wide report to the configured path.
+     *
+     * @return The JSON report
+     */
+    public static String writeSuiteReport() {
+        String json = report(SUITE);
+        Path file = Paths.get(ConfigManager.getWaitReportPath());
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            Files.writeString(file, json);
+            log.info("Wait report for {} wait targets written to {}", SUITE.size(), file);
+        } catch (IOException e) {
+            log.warn("Wait report could not be written to {}: {}", file, e.getMessage());
+        }
+        return json;
+    }
+
+    private static String report(Map<String, Histogram> histograms) {
+        List<Map<String, Object>> entries = histograms.entrySet().stream()
+                .map(entry -> entry.getValue().toReport(entry.getKey()))
+                .collect(Collectors.toList());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("waits", entries.stream().mapToLong(e -> (Long) e.get("count")).sum());
+        report.put("totalMillis", entries.stream().mapToLong(e -> (Long) e.get("totalMillis")).sum());
+        report.put("byTotalTime", entries.stream()
+                .sorted(Comparator.comparingLong((Map<String, Object> e) -> (Long) e.get("totalMillis")).reversed())
+                .limit(RANKED_ENTRIES)
+                .collect(Collectors.toList()));
+        report.put("byTimeoutRate", entries.stream()
+                .filter(e -> (Long) e.get("timeouts") > 0)
+                .sorted(Comparator.comparingDouble((Map<String, Object> e) -> (Double) e.get("timeoutRate")).reversed())
+                .limit(RANKED_ENTRIES)
+                .collect(Collectors.toList()));
+        try {
+            return MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(report);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize wait report", e);
+        }
+    }
+
+    private static String browser(WebDriver driver) {
+        return driver instanceof HasCapabilities
+                ? ((HasCapabilities) driver).getCapabilities().getBrowserName()
+                : "unknown";
+    }
+
+    /**
+     * Fixed-bucket latency histogram built from adders, so concurrent recording never blocks.
+     */
+    private static class Histogram {
+        private final LongAdder[] buckets = new LongAdder[BOUNDS.length + 1];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAccumulator maxMillis = new LongAccumulator(Long::max, 0);
+
+        Histogram() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void add(Outcome outcome, long millis) {
+            int bucket = 0;
+            while (bucket < BOUNDS.length && millis > BOUNDS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+            count.increment();
+            totalMillis.add(millis);
+            maxMillis.accumulate(millis);
+            if (outcome == Outcome.TIMEOUT) {
+                timeouts.increment();
+            } else if (outcome == Outcome.ERROR) {
+                errors.increment();
+            }
+        }
+
+        /**
+         * @return Upper bound of the bucket holding the given percentile
+         */
+        long percentile(double percentile, long total) {
+            long rank = (long) Math.ceil(percentile / 100.0 * total);
+            long seen = 0;
+            for (int i = 0; i < BOUNDS.length; i++) {
+                seen += buckets[i].sum();
+                if (seen >= rank) {
+                    return BOUNDS[i];
+                }
+            }
+            return maxMillis.get();
+        }
+
+        Map<String, Object> toReport(String key) {
+            String[] parts = key.split("\\|", 3);
+            long total = count.sum();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("browser", parts[0]);
+            entry.put("condition", parts[1]);
+            entry.put("target", parts[2]);
+            entry.put("count", total);
+            entry.put("totalMillis", totalMillis.sum());
+            entry.put("timeouts", timeouts.sum());
+            entry.put("errors", errors.sum());
+            entry.put("timeoutRate", total == 0 ? 0.0 : (double) timeouts.sum() / total);
+            entry.put("p50Millis", percentile(50, total));
+            entry.put("p90Millis", percentile(90, total));
+            entry.put("p99Millis", percentile(99, total));
+            entry.put("maxMillis", maxMillis.get());
+
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.length; i++) {
+                histogram.put(i < BOUNDS.length ? "<=" + BOUNDS[i] : ">" + BOUNDS[BOUNDS.length - 1], buckets[i].sum());
+            }
+            entry.put("histogram", histogram);
+            return entry;
+        }
+    }
+}
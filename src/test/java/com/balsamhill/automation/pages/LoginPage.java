@@ -3,11 +3,15 @@ package com.balsamhill.automation.pages;
 import com.balsamhill.automation.drivers.DriverManager;
 import com.balsamhill.automation.logger.LoggerWrapper;
 import com.balsamhill.automation.utils.CredentialsUtils;
+import com.balsamhill.automation.utils.WaitBudget;
+import com.balsamhill.automation.utils.WaitUtils;
 import com.balsamhill.automation.utils.WebElementUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
-public class LoginPage {
+import java.util.List;
+
+public class LoginPage implements ReadinessContract {
 
     private static final LoggerWrapper log = new LoggerWrapper(LoginPage.class);
 
@@ -27,16 +31,27 @@ public class LoginPage {
         this.driver = driver;
     }
 
+    @Override
+    public List<By> readySignals() {
+        return List.of(email, password, loginButton);
+    }
+
     /**
      * Perform login using credentials from configuration
      * @throws InterruptedException
      */
     public void login() throws InterruptedException {
+        WaitBudget.Scope step = WaitBudget.step("Login");
+        try (step) {
+            waitUntilReady();
 
-        setUsername();
-        setPassword();
-        WebElementUtils.click(loginButton);
-        Thread.sleep(5000);
+            setUsername();
+            setPassword();
+            WebElementUtils.click(loginButton);
+            // Login submits and redirects; wait for the resulting page to settle
+            WaitUtils.waitForDomStable(1000, 5);
+            WaitUtils.waitForPageLoad();
+        }
         log.step("Login submitted");
     }
 
@@ -3,6 +3,7 @@ package com.balsamhill.automation.pages;
 import com.balsamhill.automation.drivers.DriverManager;
 import com.balsamhill.automation.logger.LoggerWrapper;
 import com.balsamhill.automation.utils.PageUtils;
+import com.balsamhill.automation.utils.WaitBudget;
 import com.balsamhill.automation.utils.WaitUtils;
 import com.balsamhill.automation.utils.WebElementUtils;
 import org.openqa.selenium.By;
@@ -20,15 +21,24 @@ public class MyAccountPage {
      * Constructor initializes the WebDriver instance.
      */
     public MyAccountPage(WebDriver driver) {
-
-        PageUtils.handleCookiePolicyBanner(driver);
-
         if (driver == null) {
             throw new IllegalArgumentException("WebDriver cannot be null");
         }
         this.driver = driver;
     }
 
+    /**
+     * Closes the cookie policy banner if it is shown.
+     */
+    public void dismissCookiePolicyBanner() {
+        long start = System.currentTimeMillis();
+        WaitBudget.Scope step = WaitBudget.step("Dismiss cookie policy banner");
+        try (step) {
+            PageUtils.handleCookiePolicyBanner(driver);
+        }
+        log.step("Cookie policy banner handled in {} ms", System.currentTimeMillis() - start);
+    }
+
     /**
      * Enter a search term into the search input field.
      *
@@ -0,0 +1,81 @@
+package com.balsamhill.automation.pages;
+
+import com.balsamhill.automation.drivers.DriverFactory;
+import com.balsamhill.automation.drivers.DriverManager;
+import com.balsamhill.automation.logger.LoggerWrapper;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Creates page objects on first use and caches them per driver session, so tests only pay for
+ * the pages they touch and pooled drivers reuse their page objects across tests. A session's
+ * page objects are dropped when its driver is quit. Page object constructors must not talk to
+ * the browser.
+ */
+public class PageRegistry {
+
+    private static final LoggerWrapper log = new LoggerWrapper(PageRegistry.class);
+
+    private static final Map<String, Session> SESSIONS = new ConcurrentHashMap<>();
+
+    static {
+        DriverFactory.addQuitListener(PageRegistry::forget);
+    }
+
+    private PageRegistry() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Returns the current thread's page object of the given type, creating it if needed.
+     *
+     * @param type    The page object class
+     * @param factory Creates the page object for a driver, usually its constructor
+     * @return The cached or newly created page object
+     */
+    public static <T> T get(Class<T> type, Function<WebDriver, T> factory) {
+        WebDriver driver = DriverManager.getDriver();
+        if (driver == null) {
+            throw new RuntimeException("WebDriver is null - cannot create page object " + type.getSimpleName());
+        }
+
+        String key = sessionKey(DriverManager.getOriginalDriver());
+        // A pooled session can come back behind a new decorator; pages must use the current one
+        Session session = SESSIONS.compute(key, (k, existing) ->
+                existing != null && existing.driver == driver ? existing : new Session(driver));
+
+        return type.cast(session.pages.computeIfAbsent(type, t -> {
+            log.debug("Creating page object {} for session {}", type.getSimpleName(), key);
+            return factory.apply(driver);
+        }));
+    }
+
+    /**
+     * Drops the page objects of a driver session that is being quit.
+     */
+    private static void forget(WebDriver original) {
+        if (SESSIONS.remove(sessionKey(original)) != null) {
+            log.debug("Released page objects of quit driver session");
+        }
+    }
+
+    private static String sessionKey(WebDriver driver) {
+        if (driver instanceof RemoteWebDriver && ((RemoteWebDriver) driver).getSessionId() != null) {
+            return ((RemoteWebDriver) driver).getSessionId().toString();
+        }
+        return driver.getClass().getSimpleName() + "@" + System.identityHashCode(driver);
+    }
+
+    private static class Session {
+        private final WebDriver driver;
+        private final Map<Class<?>, Object> pages = new ConcurrentHashMap<>();
+
+        Session(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+}
@@ -2,6 +2,9 @@ package com.balsamhill.automation.pages;
 
 import com.balsamhill.automation.drivers.DriverManager;
 import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.utils.SelectorMemory;
+import com.balsamhill.automation.utils.WaitBudget;
+import com.balsamhill.automation.utils.WaitUtils;
 import com.balsamhill.automation.utils.WebElementUtils;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
@@ -9,15 +12,15 @@ import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
 import java.util.List;
 
 public class ProductDetailsModal {
 
     private static final LoggerWrapper log = new LoggerWrapper(ProductPage.class);
 
+    private static final String PAGE = "product details modal";
+
     private final WebDriver driver;
 
     private final By viewCart = By.cssSelector("button[data-testid='pdc-add-to-cart-modal-btn-viewcart']");
@@ -36,28 +39,20 @@ public class ProductDetailsModal {
      * Clicks the "View Cart" button in the Product Details Modal.
      */
     public void viewCart() {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        WaitBudget.Scope step = WaitBudget.step("View cart");
+        try (step) {
             JavascriptExecutor js = (JavascriptExecutor) driver;
 
             System.out.println("=== DEBUG: Looking for modal and View Cart button ===");
             System.out.println("Current URL: " + driver.getCurrentUrl());
 
-            // Wait a moment for any modal to appear
-            Thread.sleep(2000);
+            // Wait for the modal to finish rendering
+            WaitUtils.waitForDomStable();
 
             // Check for any modal containers
             List<WebElement> allModals = driver.findElements(By.cssSelector("[class*='modal'], [id*='modal'], [data-testid*='modal']"));
             System.out.println("Found " + allModals.size() + " modal-like elements");
 
-            // Check for the specific button
-            List<WebElement> targetButtons = driver.findElements(By.cssSelector("button[data-testid='pdc-add-to-cart-modal-btn-viewcart']"));
-            System.out.println("Found " + targetButtons.size() + " target view cart buttons");
-
-            // Check for any view cart buttons by text
-            List<WebElement> viewCartByText = driver.findElements(By.xpath("//button[contains(text(), 'View Cart') or contains(text(), 'VIEW CART')]"));
-            System.out.println("Found " + viewCartByText.size() + " view cart buttons by text");
-
             // Check all buttons on page
             List<WebElement> allButtons = driver.findElements(By.tagName("button"));
             System.out.println("Total buttons on page: " + allButtons.size());
@@ -75,41 +70,38 @@ public class ProductDetailsModal {
                 }
             }
 
-            // Try to find and click any working view cart button
+            // Try to find any working view cart button: the original selector, then by text, then any
+            // cart-related button. Among the fallbacks, the one that worked last time is tried first.
+            List<By> candidates = SelectorMemory.order(driver, PAGE, "view cart button", List.of(
+                    By.cssSelector("button[data-testid='pdc-add-to-cart-modal-btn-viewcart']"),
+                    By.xpath("//button[contains(text(), 'View Cart') or contains(text(), 'VIEW CART')]"),
+                    By.cssSelector("button[class*='cart'], button[data-testid*='cart']")));
             WebElement viewCartButton = null;
 
-            // First try: original selector
-            if (!targetButtons.isEmpty() && targetButtons.get(0).isDisplayed()) {
-                viewCartButton = targetButtons.get(0);
-                System.out.println("Using original selector button");
-            }
-            // Second try: by text
-            else if (!viewCartByText.isEmpty() && viewCartByText.get(0).isDisplayed()) {
-                viewCartButton = viewCartByText.get(0);
-                System.out.println("Using text-based button");
-            }
-            // Third try: look for cart-related buttons
-            else {
-                List<WebElement> cartButtons = driver.findElements(By.cssSelector("button[class*='cart'], button[data-testid*='cart']"));
-                System.out.println("Found " + cartButtons.size() + " cart-related buttons");
+            for (By candidate : candidates) {
+                List<WebElement> buttons = driver.findElements(candidate);
+                log.debug("Found {} view cart buttons with {}", buttons.size(), candidate);
 
-                for (WebElement btn : cartButtons) {
+                for (WebElement btn : buttons) {
                     if (btn.isDisplayed()) {
-                        System.out.println("Cart button: text='" + btn.getText() + "', testid='" + btn.getAttribute("data-testid") + "'");
-                        if (viewCartButton == null) {
-                            viewCartButton = btn;
-                            System.out.println("Using first cart-related button");
-                            break;
-                        }
+                        viewCartButton = btn;
+                        break;
                     }
                 }
+                if (viewCartButton != null) {
+                    log.debug("Using button: text='{}', testid='{}'", viewCartButton.getText(),
+                            viewCartButton.getAttribute("data-testid"));
+                    SelectorMemory.hit(driver, PAGE, "view cart button", candidate);
+                    break;
+                }
+                SelectorMemory.miss(driver, PAGE, "view cart button", candidate);
             }
 
             if (viewCartButton != null) {
                 // Try to click the button
                 try {
                     js.executeScript("arguments[0].scrollIntoView(true);", viewCartButton);
-                    Thread.sleep(500);
+                    WaitUtils.waitForAnimations(500);
                     viewCartButton.click();
                     System.out.println("SUCCESS: Clicked view cart button");
                 } catch (Exception clickError) {
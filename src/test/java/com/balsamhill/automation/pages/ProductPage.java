@@ -1,28 +1,47 @@
 package com.balsamhill.automation.pages;
 
 import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.utils.ClickEngine;
 import com.balsamhill.automation.utils.PageUtils;
+import com.balsamhill.automation.utils.SelectorMemory;
+import com.balsamhill.automation.utils.WaitBudget;
 import com.balsamhill.automation.utils.WaitUtils;
-import com.balsamhill.automation.utils.WebElementUtils;
 import org.openqa.selenium.*;
-import org.openqa.selenium.interactions.Actions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.time.Duration;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-public class ProductPage {
+public class ProductPage implements ReadinessContract {
 
     private static final LoggerWrapper log = new LoggerWrapper(ProductPage.class);
 
+    private static final String PAGE = "product";
+
     private final WebDriver driver;
 
-    private final By sizeList = By.cssSelector("div[class*='small-product-filter-box'][class*='productDetailFilter_product-filter-item']");
-    private final By lightList = By.cssSelector("div[class*='large-product-filter-box'][class*='productDetailFilter_product-filter-item']");
+    private static final String SIZE = "size";
+    private static final String LIGHT = "lightType";
+
+    private static final String SIZE_TILES = "div[class*='small-product-filter-box'][class*='productDetailFilter_product-filter-item']";
+    private static final String LIGHT_TILES = "div[class*='large-product-filter-box'][class*='productDetailFilter_product-filter-item']";
+
+    /**
+     * Collects text and element of every tile per option group; arguments[0] maps group to selector.
+     */
+    private static final String OPTION_INDEX =
+            "var groups = arguments[0], index = {};" +
+            "Object.keys(groups).forEach(function (group) {" +
+            "  index[group] = Array.from(document.querySelectorAll(groups[group])).map(function (el) {" +
+            "    return {text: (el.innerText || el.textContent || '').trim(), element: el};" +
+            "  });" +
+            "});" +
+            "return index;";
+
+    private final By sizeList = By.cssSelector(SIZE_TILES);
+    private final By lightList = By.cssSelector(LIGHT_TILES);
     private final By addToCartButton = By.cssSelector("div.row.align-items-center.h-100 button");
+    private final By addedToCartModal = By.cssSelector("button[data-testid='pdc-add-to-cart-modal-btn-viewcart'], [role='dialog']");
     private final By price = By.cssSelector("div.productPrice_old-new-price__a0Rwo span.product-price");
 
     /**
@@ -35,6 +54,11 @@ public class ProductPage {
         this.driver = driver;
     }
 
+    @Override
+    public List<By> readySignals() {
+        return List.of(price, addToCartButton);
+    }
+
     /**
      * Selects product options based on provided customization options.
      *
@@ -42,25 +66,56 @@ public class ProductPage {
      * @throws InterruptedException
      */
     public void selectOptions(Map<String, String> customizationOptions) {
-        // Handle cookie banner first
-        PageUtils.handleCookieBanner(driver);
-
-        String desiredSize = customizationOptions.get("size");
-        String desiredLight = customizationOptions.get("lightType");
-
-        log.step("Desired size: {}", desiredSize);
-        log.step("Desired light: {}", desiredLight);
+        WaitBudget.Scope step = WaitBudget.step("Select product options");
+        try (step) {
+            waitUntilReady();
+
+            // Handle cookie banner once; tiles are clicked with fallbacks if anything still overlays them
+            PageUtils.handleCookieBanner(driver);
+
+            Map<String, String> requested = new LinkedHashMap<>();
+            for (String group : List.of(SIZE, LIGHT)) {
+                String desired = customizationOptions.get(group);
+                log.step("Desired {}: {}", group, desired);
+                if (desired != null && !desired.isEmpty()) {
+                    requested.put(group, desired);
+                }
+            }
+            if (requested.isEmpty()) {
+                return;
+            }
 
-        // Handle size selection
-        if(desiredSize != null && !desiredSize.isEmpty()) {
-            selectSize(desiredSize);
-            log.step("Size option selected: {}", desiredSize);
-        }
+            // Option groups can render independently; wait for every group that is needed
+            Map<String, By> tiles = Map.of(SIZE, sizeList, LIGHT, lightList);
+            for (String group : requested.keySet()) {
+                if (WaitUtils.waitForFirstIndex(List.of(tiles.get(group)), 10) < 0) {
+                    log.step("No {} options displayed", group);
+                }
+            }
+            Map<String, Map<String, WebElement>> options = indexOptions();
+
+            boolean selected = false;
+            for (Map.Entry<String, String> option : requested.entrySet()) {
+                String group = option.getKey();
+                WebElement tile = findOption(options, group, option.getValue());
+                if (tile == null || !clickOption(group, tile)) {
+                    // The tile may have rendered late, or an earlier selection re-rendered the group
+                    options = indexOptions();
+                    tile = findOption(options, group, option.getValue());
+                    tile = tile != null && clickOption(group, tile) ? tile : null;
+                }
+                if (tile == null) {
+                    log.step("Could not select {} option: {}", group, option.getValue());
+                    continue;
+                }
+                selected = true;
+                log.step("{} option selected: {}", group, option.getValue());
+            }
 
-        // Handle light selection
-        if(desiredLight != null && !desiredLight.isEmpty()) {
-            selectLight(desiredLight);
-            log.step("Light option selected: {}", desiredLight);
+            // Selecting options reloads price and availability; wait once for all of them
+            if (selected) {
+                WaitUtils.waitForNetworkIdle();
+            }
         }
     }
 
@@ -77,35 +132,35 @@ public class ProductPage {
     }
 
     public void addToCart() {
-        try {
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(20));
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-
-            // Try the original selector first
-            List<WebElement> targetButtons = driver.findElements(addToCartButton);
-
-            if (!targetButtons.isEmpty()) {
-                WebElement button = targetButtons.get(0);
-
-                if (button.isDisplayed() && button.isEnabled()) {
-                    // Try multiple click approaches
-                    if (tryClickMethods(button, wait, js)) {
-                        return;
-                    }
+        WaitBudget.Scope step = WaitBudget.step("Add to cart");
+        try (step) {
+            waitUntilReady();
+
+            // The original selector, then buttons found by text
+            List<By> candidates = SelectorMemory.order(driver, PAGE, "add to cart button", List.of(addToCartButton,
+                    By.xpath("//button[contains(text(), 'Add to Cart') or contains(text(), 'ADD TO CART') or contains(@aria-label, 'Add to Cart')]")));
+
+            for (By candidate : candidates) {
+                List<WebElement> buttons = driver.findElements(candidate);
+                // The original selector matches every button in the row; only its first is Add to Cart
+                if (candidate.equals(addToCartButton) && buttons.size() > 1) {
+                    buttons = buttons.subList(0, 1);
                 }
-            }
-
-            // Fallback: Search for Add to Cart buttons by text
-            List<WebElement> addToCartButtons = driver.findElements(
-                    By.xpath("//button[contains(text(), 'Add to Cart') or contains(text(), 'ADD TO CART') or contains(@aria-label, 'Add to Cart')]")
-            );
-
-            for (WebElement btn : addToCartButtons) {
-                if (btn.isDisplayed() && btn.isEnabled()) {
-                    if (tryClickMethods(btn, wait, js)) {
-                        return;
+                for (WebElement btn : buttons) {
+                    if (btn.isDisplayed() && btn.isEnabled()) {
+                        // Try multiple click approaches
+                        ClickEngine.Strategy clicked = tryClickMethods(btn);
+                        if (clicked != null) {
+                            SelectorMemory.hit(driver, PAGE, "add to cart button", candidate);
+                            WaitUtils.waitForNetworkIdle();
+                            // The confirmation modal shows the click reached the button, not an overlay
+                            ClickEngine.confirm(PAGE, "add to cart button", clicked,
+                                    WaitUtils.waitForFirstIndex(List.of(addedToCartModal), 5) >= 0);
+                            return;
+                        }
                     }
                 }
+                SelectorMemory.miss(driver, PAGE, "add to cart button", candidate);
             }
 
         } catch (Exception e) {
@@ -113,182 +168,62 @@ public class ProductPage {
         }
     }
 
-    private boolean tryClickMethods(WebElement button, WebDriverWait wait, JavascriptExecutor js) {
-        // Method 1: Standard click with scroll
-        try {
-            js.executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", button);
-            Thread.sleep(500);
-            wait.until(ExpectedConditions.elementToBeClickable(button));
-            button.click();
-            return true;
-        } catch (Exception e1) {
-            // Continue to next method
-        }
-
-        // Method 2: JavaScript click
-        try {
-            js.executeScript("arguments[0].click();", button);
-            return true;
-        } catch (Exception e2) {
-            // Continue to next method
-        }
-
-        // Method 3: Actions click
-        try {
-            Actions actions = new Actions(driver);
-            actions.moveToElement(button).click().perform();
-            return true;
-        } catch (Exception e3) {
-            // All methods failed
-        }
-
-        return false;
+    private ClickEngine.Strategy tryClickMethods(WebElement button) {
+        return ClickEngine.click(PAGE, "add to cart button", button, List.of(
+                ClickEngine.Strategy.SCROLL_AND_CLICK,
+                ClickEngine.Strategy.JAVASCRIPT,
+                ClickEngine.Strategy.ACTIONS));
     }
 
     /**
-     * Selects the desired size from available options.
+     * Reads every size and light tile in one script call.
      *
-     * @param desiredSize The size to select (e.g., "7.5'", "9'")
-     * @throws InterruptedException
+     * @return Per option group, normalized tile text mapped to the tile, in page order
      */
-    private void selectSize(String desiredSize) {
-        for(int i = 0; i < 3; i++) { // Retry up to 3 times
-            try {
-                List<WebElement> sizes = getSizes(sizeList);
-                log.step("Available sizes: {}", sizes.size());
-
-                for(int j = 0; j < sizes.size(); j++){
-                    // Re-find elements to avoid stale reference
-                    sizes = getSizes(sizeList);
-
-                    if(j >= sizes.size()) break;
-
-                    WebElement size = sizes.get(j);
-                    String sizeText = size.getText().trim();
-                    log.step("Checking size option: '{}'", sizeText);
-
-                    if(sizeText.toLowerCase().contains(desiredSize.toLowerCase())){
-                        log.step("Found matching size: {}", sizeText);
-
-                        // Ensure cookie banner is still dismissed
-                        PageUtils.handleCookieBanner(driver);
-
-                        WebElementUtils.scrollToElement(size);
-                        WebElementUtils.click(size);
-                        log.step("Successfully clicked size: {}", sizeText);
-                        return;
-                    }
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, WebElement>> indexOptions() {
+        Object result = ((JavascriptExecutor) driver).executeScript(OPTION_INDEX,
+                Map.of(SIZE, SIZE_TILES, LIGHT, LIGHT_TILES));
+
+        Map<String, Map<String, WebElement>> options = new LinkedHashMap<>();
+        for (String group : List.of(SIZE, LIGHT)) {
+            Map<String, WebElement> tiles = new LinkedHashMap<>();
+            if (result instanceof Map) {
+                for (Map<String, Object> tile : (List<Map<String, Object>>) ((Map<String, Object>) result).get(group)) {
+                    tiles.putIfAbsent(normalize(String.valueOf(tile.get("text"))), (WebElement) tile.get("element"));
                 }
-                break;
-
-            } catch (ElementClickInterceptedException e) {
-                log.step("Click intercepted on attempt {}, handling overlays and retrying", i + 1);
-//                handleCookieBanner();
-            } catch (Exception e) {
-                log.step("Error selecting size on attempt {}: {}", i + 1, e.getMessage());
             }
+            options.put(group, tiles);
         }
+        log.step("Available sizes: {}, available lights: {}", options.get(SIZE).keySet(), options.get(LIGHT).keySet());
+        return options;
     }
 
     /**
-     * Selects the desired light type from available options.
-     *
-     * @param desiredLight The light type to select (e.g., "Clear", "Multicolor")
+     * Sizes match when the tile text contains the desired size, lights when the tile text without
+     * punctuation equals the desired light type.
      */
-    private void selectLight(String desiredLight) {
-        for(int i = 0; i < 3; i++) { // Retry up to 3 times
-            try {
-                List<WebElement> lights = getLights(lightList);
-                log.step("Available lights: {}", lights.size());
-
-                for(int j = 0; j < lights.size(); j++){
-                    // Re-find elements to avoid stale reference
-                    lights = getLights(lightList);
-
-                    if(j >= lights.size()) break;
-
-                    WebElement light = lights.get(j);
-                    String lightText = light.getText().trim().replaceAll("[^0-9a-zA-Z\\s]", "");
-                    log.step("Checking light option: '{}'", lightText);
-
-                    if(lightText.equalsIgnoreCase(desiredLight)){
-                        log.step("Found matching light: {}", lightText);
-
-                        // Ensure cookie banner is still dismissed
-                        PageUtils.handleCookieBanner(driver);
-
-                        WebElementUtils.scrollToElement(light);
-                        WebElementUtils.click(light);
-                        log.step("Successfully clicked light: {}", lightText);
-                        return;
-                    }
-                }
-                break; // Exit retry loop if no matching light found
-
-            } catch (ElementClickInterceptedException e) {
-                log.step("Click intercepted on attempt {}, handling overlays and retrying", i + 1);
-//                handleCookieBanner();
-            } catch (Exception e) {
-                log.step("Error selecting light on attempt {}: {}", i + 1, e.getMessage());
+    private WebElement findOption(Map<String, Map<String, WebElement>> options, String group, String desired) {
+        for (Map.Entry<String, WebElement> tile : options.get(group).entrySet()) {
+            boolean matches = SIZE.equals(group)
+                    ? tile.getKey().contains(desired.toLowerCase())
+                    : tile.getKey().replaceAll("[^0-9a-z\\s]", "").trim().equalsIgnoreCase(desired);
+            if (matches) {
+                log.step("Found matching {} option: '{}'", group, tile.getKey());
+                return tile.getValue();
             }
         }
+        return null;
     }
 
-    /**
-     * Collects all size options on the page.
-     *
-     * @param sizes By locator for the size options to collect
-     * @return List of all collected WebElements representing sizes
-     */
-    private List<WebElement> getSizes(By sizes) {
-
-        List<WebElement> allItems = new ArrayList<>();
-
-        try {
-            while (true) {
-                // Use the new WaitUtils method
-                List<WebElement> xmastreeSizes = WaitUtils.findElementsWithWait(sizeList);
-
-                for (WebElement item : xmastreeSizes) {
-                    allItems.add(item);
-                }
-                break;
-            }
-        } catch (Exception e) {
-            log.error("Error during item collection: {}", e.getMessage());
-        }
-
-        return allItems;
+    private boolean clickOption(String group, WebElement tile) {
+        return ClickEngine.click(PAGE, group + " option", tile, List.of(
+                ClickEngine.Strategy.SCROLL_AND_CLICK,
+                ClickEngine.Strategy.JAVASCRIPT)) != null;
     }
 
-    /**
-     * Collects all light options on the page.
-     *
-     * @param sizes By locator for the light options to collect
-     * @return List of all collected WebElements representing lights
-     */
-    private List<WebElement> getLights(By sizes) {
-
-        List<WebElement> allItems = new ArrayList<>();
-
-        try {
-            while (true) {
-                // Use the new WaitUtils method
-                List<WebElement> xmasTreeLights = WaitUtils.findElementsWithWait(lightList);
-
-                for (WebElement item : xmasTreeLights) {
-                    allItems.add(item);
-                }
-                break;
-            }
-        } catch (Exception e) {
-            log.error("Error during item collection: {}", e.getMessage());
-        }
-
-        return allItems;
+    private static String normalize(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase();
     }
 
 }
-
-
-
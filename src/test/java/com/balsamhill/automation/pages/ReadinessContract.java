@@ -0,0 +1,28 @@
+package com.balsamhill.automation.pages;
+
+import com.balsamhill.automation.utils.WaitUtils;
+import org.openqa.selenium.By;
+
+import java.util.List;
+
+/**
+ * Declares the elements that mean a page is usable. With an eager or none page load strategy,
+ * navigation returns before every asset has loaded, and page objects wait for these signals
+ * instead of a complete document.
+ */
+public interface ReadinessContract {
+
+    /**
+     * @return Locators that must all be visible before the page can be used
+     */
+    List<By> readySignals();
+
+    /**
+     * Waits until the document is interactive and every ready signal is visible.
+     *
+     * @return true if the page became ready, false if the wait timed out
+     */
+    default boolean waitUntilReady() {
+        return WaitUtils.waitForReadiness(readySignals());
+    }
+}
@@ -4,21 +4,43 @@ import com.balsamhill.automation.logger.LoggerWrapper;
 import com.balsamhill.automation.utils.WaitUtils;
 import com.balsamhill.automation.utils.WebElementUtils;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-public class SearchResultsPage {
+public class SearchResultsPage implements ReadinessContract {
 
     private static final LoggerWrapper log = new LoggerWrapper(SearchResultsPage.class);
 
     private final WebDriver driver;
 
-    private final By items = By.cssSelector("div[class*='col-md-4']");
+    private static final String CARD_SELECTOR = "div[class*='col-md-4']";
+
+    /**
+     * Collects name, text, promotion badges and link of every card matching arguments[0].
+     */
+    private static final String CARD_SNAPSHOT =
+            "var text = function (el) { return el ? (el.innerText || el.textContent || '').trim() : ''; };" +
+            "return Array.from(document.querySelectorAll(arguments[0])).map(function (card, index) {" +
+            "  var all = text(card);" +
+            "  var name = text(card.querySelector(\"[class*='name'], [class*='title'], h2, h3, h4\")) || all.split('\\n')[0];" +
+            "  var badges = [];" +
+            "  card.querySelectorAll(\"[class*='badge'], [class*='promo'], [class*='flag'], [class*='sale']\").forEach(function (b) {" +
+            "    var t = text(b);" +
+            "    if (t && t.indexOf('$') < 0 && badges.indexOf(t) < 0) { badges.push(t); }" +
+            "  });" +
+            "  var link = card.querySelector('a[href]');" +
+            "  return {index: index, element: card, name: name, text: all, badges: badges, link: link ? link.href : null};" +
+            "});";
+
+    private final By items = By.cssSelector(CARD_SELECTOR);
 
     /**
      * Constructor initializes the WebDriver instance.
@@ -30,22 +52,62 @@ public class SearchResultsPage {
         this.driver = driver;
     }
 
+    @Override
+    public List<By> readySignals() {
+        return List.of(items);
+    }
+
+    /**
+     * Reads every product card on the page in one script call.
+     *
+     * @return Immutable cards in page order
+     */
+    @SuppressWarnings("unchecked")
+    public List<ProductCard> snapshot() {
+        waitUntilReady();
+        Object result = ((JavascriptExecutor) driver).executeScript(CARD_SNAPSHOT, CARD_SELECTOR);
+
+        List<ProductCard> cards = new ArrayList<>();
+        if (result instanceof List) {
+            for (Map<String, Object> card : (List<Map<String, Object>>) result) {
+                cards.add(new ProductCard(card));
+            }
+        }
+        log.step("Snapshot of {} product cards taken", cards.size());
+        return List.copyOf(cards);
+    }
+
+    /**
+     * Finds the first card whose name contains the expected name, ignoring case.
+     */
+    public Optional<ProductCard> findProduct(String expectedName) {
+        return snapshot().stream()
+                .filter(card -> card.getName().toLowerCase().contains(expectedName.toLowerCase()))
+                .findFirst();
+    }
+
     /**
      * Select product by index
      */
     public String selectProductAndGetPrice(int testIndex) {
-        List<WebElement> products = getInitialItems(items);
+        List<ProductCard> products = snapshot();
         log.step("Initial number of products found: {}", products.size());
 
-        int productIndex = testIndex - 1;
-        WebElement selectedProduct = products.get(productIndex);
+        return selectProductAndGetPrice(products.get(testIndex - 1));
+    }
 
-        String currentPrice = extractPrice(selectedProduct.getText());
+    /**
+     * Opens the product page of a card from a snapshot
+     *
+     * @return The card's current price, see {@link #extractPrice(String)}
+     */
+    public String selectProductAndGetPrice(ProductCard card) {
+        String currentPrice = extractPrice(card.getText());
 
-        WebElementUtils.click(selectedProduct);
+        WebElementUtils.click(card.element);
         WaitUtils.waitForPageLoad();
 
-        log.step("Navigated to product page of item at productIndex {}", productIndex + 1);
+        log.step("Navigated to product page of item at productIndex {}", card.getIndex() + 1);
 
         return currentPrice;
     }
@@ -107,31 +169,76 @@ public class SearchResultsPage {
         while (matcher.find()) {
             String price = matcher.group();
             prices.add(price);
-            log.step("Found price: {}", price);
+            log.debug("Found price: {}", price);
         }
 
         return prices;
     }
 
     /**
-     * Collect items from the page
+     * A product card as it was when the snapshot was taken. Only the card element itself, used
+     * for clicking, refers back to the browser.
      */
-    private static List<WebElement> getInitialItems(By items) {
-        List<WebElement> allItems = new ArrayList<>();
+    public static final class ProductCard {
+        private final int index;
+        private final String name;
+        private final String text;
+        private final List<String> prices;
+        private final List<String> badges;
+        private final String link;
+        private final WebElement element;
+
+        @SuppressWarnings("unchecked")
+        private ProductCard(Map<String, Object> card) {
+            this.index = ((Number) card.get("index")).intValue();
+            this.name = String.valueOf(card.get("name"));
+            this.text = String.valueOf(card.get("text"));
+            this.prices = findAllPrices(text);
+            this.badges = List.copyOf((List<String>) card.get("badges"));
+            this.link = (String) card.get("link");
+            this.element = (WebElement) card.get("element");
+        }
 
-        try {
-            List<WebElement> currentItems = WaitUtils.findElementsWithWait(items);
+        public int getIndex() {
+            return index;
+        }
 
-            for (WebElement item : currentItems) {
-                allItems.add(item);
-            }
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The card's full visible text
+         */
+        public String getText() {
+            return text;
+        }
 
-            log.step("Collected {} items total", allItems.size());
+        /**
+         * @return Every price on the card, in reading order
+         */
+        public List<String> getPrices() {
+            return prices;
+        }
 
-        } catch (Exception e) {
-            log.error("Error during item collection: {}", e.getMessage());
+        /**
+         * @return Promotion badges such as "Sale" or "Best Seller"
+         */
+        public List<String> getBadges() {
+            return badges;
         }
 
-        return allItems;
+        /**
+         * @return The product page URL, or null if the card has no link
+         */
+        public String getLink() {
+            return link;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("ProductCard{index=%d, name='%s', prices=%s, badges=%s, link='%s'}",
+                    index, name, prices, badges, link);
+        }
     }
-}
\ No newline at end of file
+}
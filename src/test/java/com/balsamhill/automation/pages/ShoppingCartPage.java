@@ -1,25 +1,60 @@
 package com.balsamhill.automation.pages;
 
-import com.balsamhill.automation.drivers.DriverManager;
 import com.balsamhill.automation.logger.LoggerWrapper;
+import com.balsamhill.automation.utils.ClickEngine;
+import com.balsamhill.automation.utils.ElementProbe;
+import com.balsamhill.automation.utils.InPageWait;
+import com.balsamhill.automation.utils.LoaderWatch;
+import com.balsamhill.automation.utils.SelectorMemory;
+import com.balsamhill.automation.utils.WaitBudget;
 import com.balsamhill.automation.utils.WaitUtils;
 import com.balsamhill.automation.utils.WebElementUtils;
 import org.openqa.selenium.*;
-import org.openqa.selenium.interactions.Actions;
 
-import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
-public class ShoppingCartPage {
+public class ShoppingCartPage implements ReadinessContract {
 
     private static final LoggerWrapper log = new LoggerWrapper(ShoppingCartPage.class);
 
+    private static final String PAGE = "cart";
+
+    private static final int MAX_PRICE_CANDIDATES = 200;
+
+    /**
+     * Walks the text nodes once and reports each visible element whose own text contains '$',
+     * in document order.
+     */
+    private static final String PRICE_SCAN =
+            InPageWait.VISIBLE_FUNCTION +
+            "var limit = arguments[0], seen = new Set(), out = [];" +
+            "var walker = document.createTreeWalker(document.body || document.documentElement, NodeFilter.SHOW_TEXT," +
+            "  {acceptNode: function (n) { return n.nodeValue.indexOf('$') >= 0 ? NodeFilter.FILTER_ACCEPT : NodeFilter.FILTER_SKIP; }});" +
+            "var node;" +
+            "while ((node = walker.nextNode()) && out.length < limit) {" +
+            "  var el = node.parentElement;" +
+            "  if (!el || seen.has(el)) { continue; }" +
+            "  seen.add(el);" +
+            "  if (el.closest('script, style, noscript') || !visible(el)) { continue; }" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  out.push({text: (el.innerText || el.textContent || '').trim(), tag: el.tagName.toLowerCase()," +
+            "    classes: el.getAttribute('class') || ''," +
+            "    x: Math.round(rect.left + window.scrollX), y: Math.round(rect.top + window.scrollY)," +
+            "    width: Math.round(rect.width), height: Math.round(rect.height)});" +
+            "}" +
+            "return out;";
+
     private final WebDriver driver;
 
     private final By originalPriceSelector = By.cssSelector("span[class*='cartProductDetailItem_new_price'] > span");
     private final By one = By.cssSelector("#productQuantityInput_0_desktop");
     private final By keyWord = By.cssSelector("div.cartProductDetailItem_product-name-wrapper__2Yaco a > span");
+    private final By cartItemName = By.cssSelector("div[class*='cartProductDetailItem_product-name-wrapper'] a");
 
     private final String[] priceSelectors = {
             "span[class*='cartProductDetailItem_new_price'] > span",
@@ -40,16 +75,21 @@ public class ShoppingCartPage {
         this.driver = driver;
     }
 
+    @Override
+    public List<By> readySignals() {
+        return List.of(cartItemName);
+    }
+
     public String getDisplayedProductPrice() {
-        try {
+        WaitBudget.Scope step = WaitBudget.step("Cart price lookup");
+        try (step) {
             waitForCartPageToLoad();
 
             // Strategy pattern for different price finding approaches
             PriceFindingStrategy[] strategies = {
                     this::findPriceWithOriginalSelector,
                     this::findPriceWithConfiguredSelectors,
-                    this::findPriceWithXPathSearch,
-                    this::findPriceWithFallbackPattern
+                    this::findPriceWithDomScan
             };
 
             for (PriceFindingStrategy strategy : strategies) {
@@ -71,15 +111,28 @@ public class ShoppingCartPage {
     }
 
     public void deleteItem() {
-        List<By> deleteSelectors = getDeleteSelectors();
+        List<By> deleteSelectors = SelectorMemory.order(driver, PAGE, "delete button", getDeleteSelectors());
         By loaderSelector = By.cssSelector(".bLoader_loader-wrapper-box__q4A7u");
 
-        waitForPageReadiness(loaderSelector);
+        WaitBudget.Scope step = WaitBudget.step("Delete cart item");
+
+        try (step) {
+            waitForPageReadiness(loaderSelector);
+
+            // Wait once for any delete control; lower-priority selectors are then probed without waiting
+            int first = WaitUtils.waitForFirstIndex(deleteSelectors, 5);
+            if (first < 0) {
+                throw new RuntimeException("Failed to delete item - no delete button found");
+            }
+            deleteSelectors.subList(0, first).forEach(selector -> SelectorMemory.miss(driver, PAGE, "delete button", selector));
 
-        for (By selector : deleteSelectors) {
-            if (attemptDeleteWithSelector(selector, loaderSelector)) {
-                log.info("Successfully deleted item using selector: {}", selector.toString());
-                return;
+            for (By selector : deleteSelectors.subList(first, deleteSelectors.size())) {
+                if (attemptDeleteWithSelector(selector, loaderSelector)) {
+                    log.info("Successfully deleted item using selector: {}", selector.toString());
+                    SelectorMemory.hit(driver, PAGE, "delete button", selector);
+                    return;
+                }
+                SelectorMemory.miss(driver, PAGE, "delete button", selector);
             }
         }
 
@@ -101,20 +154,68 @@ public class ShoppingCartPage {
         String findPrice();
     }
 
+    /**
+     * A visible element whose own text contains '$', as reported by {@link #PRICE_SCAN}.
+     */
+    private static class PriceCandidate {
+        private final String text;
+        private final String tag;
+        private final String classes;
+        private final Rectangle box;
+
+        PriceCandidate(Map<String, Object> scanned) {
+            this.text = String.valueOf(scanned.get("text"));
+            this.tag = String.valueOf(scanned.get("tag"));
+            this.classes = String.valueOf(scanned.get("classes")).toLowerCase();
+            this.box = new Rectangle(number(scanned, "x"), number(scanned, "y"),
+                    number(scanned, "height"), number(scanned, "width"));
+        }
+
+        /**
+         * Prefers price-classed elements holding nothing but the amount, and demotes struck-out
+         * or original prices.
+         */
+        int score() {
+            int score = 0;
+            if (classes.contains("price")) {
+                score += 2;
+            }
+            if (text.matches("\\$[\\d,]+\\.\\d{2}")) {
+                score += 1;
+            }
+            if (classes.matches(".*(old|was|strike|original|compare).*") || "s".equals(tag) || "del".equals(tag)) {
+                score -= 3;
+            }
+            return score;
+        }
+
+        private static int number(Map<String, Object> scanned, String key) {
+            Object value = scanned.get(key);
+            return value instanceof Number ? ((Number) value).intValue() : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("'%s' (tag: %s, class: %s, box: %dx%d at %d,%d)",
+                    text, tag, classes, box.getWidth(), box.getHeight(), box.getX(), box.getY());
+        }
+    }
+
     private void waitForCartPageToLoad() throws InterruptedException {
-        // Use WaitUtils instead of manual WebDriverWait
-        WaitUtils.waitForPageLoad(15);
+        // Wait for the cart's own readiness signals rather than every asset on the page
+        waitUntilReady();
 
-        // Brief wait for dynamic content - consider replacing with specific element wait
-        Thread.sleep(2000);
+        // Wait for dynamic content (prices, totals) to finish rendering
+        WaitUtils.waitForDomStable();
     }
 
     private String findPriceWithOriginalSelector() {
         try {
-            List<WebElement> elements = WaitUtils.findElementsWithWait(originalPriceSelector, 3);
+            // The cart has already settled, so take what is rendered now
+            List<WebElement> elements = ElementProbe.findAll(originalPriceSelector);
 
             for (WebElement element : elements) {
-                if (WaitUtils.isDisplayed(originalPriceSelector, 1)) {
+                if (element.isDisplayed()) {
                     String priceText = element.getText().trim();
                     if (isValidPrice(priceText)) {
                         log.debug("Found price with original selector: {}", priceText);
@@ -129,10 +230,21 @@ public class ShoppingCartPage {
     }
 
     private String findPriceWithConfiguredSelectors() {
-        for (String selectorString : priceSelectors) {
+        List<By> selectors = SelectorMemory.order(driver, PAGE, "price",
+                Arrays.stream(priceSelectors).map(By::cssSelector).collect(Collectors.toList()));
+
+        // Wait once for any selector, then check the rest without waiting
+        int first = WaitUtils.waitForFirstIndex(selectors, 5);
+        if (first < 0) {
+            return null;
+        }
+        selectors.subList(0, first).forEach(selector -> SelectorMemory.miss(driver, PAGE, "price", selector));
+
+        for (int i = first; i < selectors.size(); i++) {
+            By selector = selectors.get(i);
+            String selectorString = selector.toString();
             try {
-                By selector = By.cssSelector(selectorString);
-                List<WebElement> elements = WaitUtils.findElementsWithWait(selector, 2);
+                List<WebElement> elements = driver.findElements(selector);
 
                 if (log.isDebugEnabled()) {
                     debugLogElements(elements, selectorString);
@@ -143,6 +255,7 @@ public class ShoppingCartPage {
                         String priceText = element.getText().trim();
                         if (isValidPrice(priceText)) {
                             log.debug("Found price with selector '{}': {}", selectorString, priceText);
+                            SelectorMemory.hit(driver, PAGE, "price", selector);
                             return priceText;
                         }
                     }
@@ -150,54 +263,47 @@ public class ShoppingCartPage {
             } catch (Exception e) {
                 log.debug("Selector '{}' failed: {}", selectorString, e.getMessage());
             }
+            SelectorMemory.miss(driver, PAGE, "price", selector);
         }
         return null;
     }
 
-    private String findPriceWithXPathSearch() {
+    /**
+     * Scans the whole page for visible price text in one script call and ranks the candidates.
+     */
+    private String findPriceWithDomScan() {
         try {
-            By dollarXPath = By.xpath("//*[contains(text(), '$')]");
-            List<WebElement> dollarElements = WaitUtils.findElementsWithWait(dollarXPath, 3);
+            List<PriceCandidate> candidates = scanPriceCandidates();
 
             if (log.isDebugEnabled()) {
-                debugLogPriceCandidates(dollarElements);
+                debugLogPriceCandidates(candidates);
             }
 
-            // Look for elements with proper price format
-            for (WebElement element : dollarElements) {
-                if (element.isDisplayed()) {
-                    String text = element.getText().trim();
-                    if (isValidPriceFormat(text)) {
-                        log.debug("Found price with XPath search: {}", text);
-                        return text;
-                    }
-                }
-            }
+            // Highest score wins; among equals the first in document order
+            return candidates.stream()
+                    .filter(candidate -> isValidPriceFormat(candidate.text))
+                    .max(Comparator.comparingInt(PriceCandidate::score))
+                    .map(candidate -> {
+                        log.debug("Found price with DOM scan: {}", candidate);
+                        return candidate.text;
+                    })
+                    .orElse(null);
         } catch (Exception e) {
-            log.debug("XPath search failed: {}", e.getMessage());
+            log.debug("DOM scan failed: {}", e.getMessage());
         }
         return null;
     }
 
-    private String findPriceWithFallbackPattern() {
-        try {
-            // More comprehensive XPath for price patterns
-            By fallbackXPath = By.xpath("//*[matches(text(), '\\$\\d+\\.\\d{2}')]");
-            List<WebElement> elements = WaitUtils.findElementsWithWait(fallbackXPath, 2);
-
-            for (WebElement element : elements) {
-                if (element.isDisplayed()) {
-                    String text = element.getText().trim();
-                    if (isValidPriceFormat(text)) {
-                        log.debug("Found price with fallback pattern: {}", text);
-                        return text;
-                    }
-                }
+    @SuppressWarnings("unchecked")
+    private List<PriceCandidate> scanPriceCandidates() {
+        Object result = ((JavascriptExecutor) driver).executeScript(PRICE_SCAN, MAX_PRICE_CANDIDATES);
+        List<PriceCandidate> candidates = new ArrayList<>();
+        if (result instanceof List) {
+            for (Map<String, Object> candidate : (List<Map<String, Object>>) result) {
+                candidates.add(new PriceCandidate(candidate));
             }
-        } catch (Exception e) {
-            log.debug("Fallback pattern search failed: {}", e.getMessage());
         }
-        return null;
+        return candidates;
     }
 
     /**
@@ -236,24 +342,20 @@ public class ShoppingCartPage {
     }
 
     /**
-     * Debug logging for price candidate elements
+     * Debug logging for price candidates found by the DOM scan
      */
-    private void debugLogPriceCandidates(List<WebElement> dollarElements) {
-        if (dollarElements.isEmpty()) {
-            log.debug("No elements containing '$' found");
+    private void debugLogPriceCandidates(List<PriceCandidate> candidates) {
+        if (candidates.isEmpty()) {
+            log.debug("No visible elements containing '$' found");
             return;
         }
 
-        log.debug("Found {} elements containing '$'", dollarElements.size());
+        log.debug("Found {} visible elements containing '$'", candidates.size());
 
-        int candidatesToLog = Math.min(10, dollarElements.size());
+        int candidatesToLog = Math.min(10, candidates.size());
         for (int i = 0; i < candidatesToLog; i++) {
-            WebElement element = dollarElements.get(i);
-            String text = element.getText().trim();
-            if (text.matches(".*\\$\\d+.*")) {
-                String className = element.getAttribute("class");
-                log.debug("Price candidate {}: '{}' (tag: {}, class: {})",
-                        i, text, element.getTagName(), className);
+            if (isValidPrice(candidates.get(i).text)) {
+                log.debug("Price candidate {}: {}", i, candidates.get(i));
             }
         }
     }
@@ -270,21 +372,17 @@ public class ShoppingCartPage {
     }
 
     private void waitForPageReadiness(By loaderSelector) {
-        WaitUtils.waitForLoaderToDisappear(loaderSelector);
+        // No action is pending, so only a loader that is showing right now matters
+        WaitUtils.waitForElementToDisappear(loaderSelector, 10);
 
-        // Wait for animations and page load
-        try {
-            Thread.sleep(1000); // Brief wait for animations
-            WaitUtils.waitForPageLoad(10);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("Page stabilization interrupted");
-        }
+        // Wait for the page to load and stop re-rendering
+        WaitUtils.waitForPageLoad(10);
+        WaitUtils.waitForDomStable();
     }
 
     private boolean attemptDeleteWithSelector(By selector, By loaderSelector) {
         try {
-            if (!WaitUtils.isElementPresent(selector, 2)) {
+            if (driver.findElements(selector).isEmpty()) {
                 log.debug("Element not found: {}", selector.toString());
                 return false;
             }
@@ -307,113 +405,35 @@ public class ShoppingCartPage {
     }
 
     private boolean executeClickStrategies(WebElement element, By loaderSelector) {
-        ClickStrategy[] strategies = {
-                () -> tryDirectClick(element),
-                () -> tryJavaScriptClick(element),
-                () -> tryActionsClick(element),
-                () -> tryClickWithOffset(element),
-                () -> tryClickParentButton(element)
-        };
-
-        for (ClickStrategy strategy : strategies) {
-            if (strategy.execute()) {
-                return waitForDeleteAction(loaderSelector);
-            }
-        }
-        return false;
-    }
-
-    @FunctionalInterface
-    private interface ClickStrategy {
-        boolean execute();
-    }
-
-    private boolean tryDirectClick(WebElement element) {
-        try {
-            element.click();
-            log.debug("Direct click successful");
-            return true;
-        } catch (Exception e) {
-            log.debug("Direct click failed: {}", e.getMessage());
+        int itemsBefore = ElementProbe.count(cartItemName);
+        // Armed once, so a loader triggered by an attempt reported as failed is still seen
+        LoaderWatch loaderWatch = LoaderWatch.arm(loaderSelector);
+        ClickEngine.Strategy clicked = ClickEngine.click(PAGE, "delete button", element, List.of(
+                ClickEngine.Strategy.DIRECT,
+                ClickEngine.Strategy.JAVASCRIPT,
+                ClickEngine.Strategy.ACTIONS,
+                ClickEngine.Strategy.OFFSET,
+                ClickEngine.Strategy.PARENT_BUTTON));
+        if (clicked == null) {
             return false;
         }
-    }
+        waitForDeleteAction(loaderWatch);
 
-    private boolean tryJavaScriptClick(WebElement element) {
-        try {
-            JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
-            js.executeScript("arguments[0].click();", element);
-            log.debug("JavaScript click successful");
-            return true;
-        } catch (Exception e) {
-            log.debug("JavaScript click failed: {}", e.getMessage());
-            return false;
+        // A click on an overlay does not throw; only a removed item proves the delete worked
+        boolean removed = ElementProbe.count(cartItemName) < itemsBefore;
+        ClickEngine.confirm(PAGE, "delete button", clicked, removed);
+        if (!removed) {
+            log.debug("{} click on delete button did not remove the item", clicked);
         }
+        return removed;
     }
 
-    private boolean tryActionsClick(WebElement element) {
-        try {
-            Actions actions = new Actions(DriverManager.getDriver());
-            actions.moveToElement(element)
-                    .pause(Duration.ofMillis(300))
-                    .click()
-                    .perform();
-            log.debug("Actions click successful");
-            return true;
-        } catch (Exception e) {
-            log.debug("Actions click failed: {}", e.getMessage());
-            return false;
-        }
-    }
+    private void waitForDeleteAction(LoaderWatch loaderWatch) {
+        WaitUtils.waitForLoaderToDisappear(loaderWatch, 15);
 
-    private boolean tryClickWithOffset(WebElement element) {
-        try {
-            Actions actions = new Actions(DriverManager.getDriver());
-            Dimension size = element.getSize();
-            int centerX = size.getWidth() / 2;
-            int centerY = size.getHeight() / 2;
-
-            actions.moveToElement(element, centerX, centerY)
-                    .pause(Duration.ofMillis(300))
-                    .click()
-                    .perform();
-            log.debug("Offset click successful");
-            return true;
-        } catch (Exception e) {
-            log.debug("Offset click failed: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    private boolean tryClickParentButton(WebElement element) {
-        try {
-            WebElement parentButton = element.findElement(By.xpath("./ancestor::button[1]"));
-            parentButton.click();
-            log.debug("Parent button click successful");
-            return true;
-        } catch (NoSuchElementException e) {
-            log.debug("No parent button found");
-            return false;
-        } catch (Exception e) {
-            log.debug("Parent button click failed: {}", e.getMessage());
-            return false;
-        }
-    }
-
-    private boolean waitForDeleteAction(By loaderSelector) {
-        try {
-            // Use WaitUtils for loader detection and waiting
-            WaitUtils.isElementPresent(loaderSelector, 2); // Just check, don't fail if not found
-            WaitUtils.waitForLoaderToDisappear(loaderSelector, 15);
-
-            Thread.sleep(1000); // Allow UI to update
-            return true;
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("Delete action verification interrupted");
-            return false;
-        }
+        // Allow the cart update request to finish and the UI to re-render
+        WaitUtils.waitForNetworkIdle();
+        WaitUtils.waitForDomStable();
     }
 
 }
@@ -32,14 +32,6 @@ public class BalsamHillSearchTests extends BaseTest {
     private static final String JSON_OUTPUT_DIR = "test-results/price-capture/";
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
 
-    // Page Objects
-    private LoginPage loginPage;
-    private MyAccountPage myAccountPage;
-    private SearchResultsPage searchResultsPage;
-    private ProductPage productPage;
-    private ProductDetailsModal productDetailsModal;
-    private ShoppingCartPage shoppingCartPage;
-
     // JSON Utility
     private ObjectMapper objectMapper;
 
@@ -49,7 +41,7 @@ public class BalsamHillSearchTests extends BaseTest {
 
     @BeforeMethod
     @Parameters({"browser", "environment"})
-    @Step("Set up test environment and initialize page objects")
+    @Step("Set up test environment")
     public void setUp(@Optional("chrome") String browser, @Optional("staging") String environment) {
         this.currentBrowser = browser;
         this.testStartTime = LocalDateTime.now().format(DATE_FORMAT);
@@ -66,10 +58,6 @@ public class BalsamHillSearchTests extends BaseTest {
         // Call parent setUp which initializes the driver
         super.setUp(browser, environment);
 
-        // Get the driver and initialize page objects
-        WebDriver driver = DriverManager.getDriver();
-        initializePageObjects(driver);
-
         log.info("Test setup completed successfully for browser: {} at {}", browser, testStartTime);
         Allure.step(String.format("Test environment initialized for browser: %s", browser));
     }
@@ -90,13 +78,13 @@ public class BalsamHillSearchTests extends BaseTest {
         performSearch(testData.getSearchTerm());
 
         // Capture price at each step
-        String searchResultsPrice = searchResultsPage.selectProductAndGetPrice(testData.getProductIndex());
+        String searchResultsPrice = searchResultsPage().selectProductAndGetPrice(testData.getProductIndex());
 
-        String productDetailsPrice = productPage.getDisplayedProductPrice();
+        String productDetailsPrice = productPage().getDisplayedProductPrice();
         addProductToCart();
         navigateToCart();
 
-        String cartPrice = shoppingCartPage.getDisplayedProductPrice();
+        String cartPrice = shoppingCartPage().getDisplayedProductPrice();
 
         // Create comprehensive test data
         SearchTestData journeyData = new SearchTestData.Builder()
@@ -145,18 +133,18 @@ public class BalsamHillSearchTests extends BaseTest {
         performSearch(testData.getSearchTerm());
 
         // Capture base price before customization
-        String searchResultsPrice = searchResultsPage.selectProductAndGetPrice(testData.getProductIndex());
+        String searchResultsPrice = searchResultsPage().selectProductAndGetPrice(testData.getProductIndex());
 
         // Apply customizations
         applyCustomizations(testData.getCustomizationOptions());
 
         // Capture price after customization
-        String customizedPrice = productPage.getDisplayedProductPrice();
+        String customizedPrice = productPage().getDisplayedProductPrice();
 
         addProductToCart();
         navigateToCart();
 
-        String cartPrice = shoppingCartPage.getDisplayedProductPrice();
+        String cartPrice = shoppingCartPage().getDisplayedProductPrice();
 
         // Create detailed customization test data
         SearchTestData customizationData = new SearchTestData.Builder()
@@ -202,18 +190,18 @@ public class BalsamHillSearchTests extends BaseTest {
         performSearch(testData.getSearchTerm());
 
         // Capture base price before customization
-        String searchResultsPrice = searchResultsPage.selectProductAndGetPrice(testData.getProductIndex());
+        String searchResultsPrice = searchResultsPage().selectProductAndGetPrice(testData.getProductIndex());
 
         // Apply customizations
         applyCustomizations(testData.getCustomizationOptions());
 
         // Capture price after customization
-        String customizedPrice = productPage.getDisplayedProductPrice();
+        String customizedPrice = productPage().getDisplayedProductPrice();
 
         addProductToCart();
         navigateToCart();
 
-        String cartPrice = shoppingCartPage.getDisplayedProductPrice();
+        String cartPrice = shoppingCartPage().getDisplayedProductPrice();
 
         // Create detailed customization test data
         SearchTestData customizationData = new SearchTestData.Builder()
@@ -246,7 +234,7 @@ public class BalsamHillSearchTests extends BaseTest {
         Allure.step("Price in shopping cart: " + cartPrice);
 
         AssertionUtils.assertTrue(
-                shoppingCartPage.isCartIconItemCountDisplayed(),
+                shoppingCartPage().isCartIconItemCountDisplayed(),
                 String.format("Cart icon should display '1' after adding a product on browser: %s", currentBrowser));
 
         attachScreenshot(String.format("Cart icon displays 1 after adding an item - %s", currentBrowser));
@@ -272,18 +260,18 @@ public class BalsamHillSearchTests extends BaseTest {
         performSearch(testData.getSearchTerm());
 
         // Capture base price before customization
-        String searchResultsPrice = searchResultsPage.selectProductAndGetPrice(testData.getProductIndex());
+        String searchResultsPrice = searchResultsPage().selectProductAndGetPrice(testData.getProductIndex());
 
         // Apply customizations
         applyCustomizations(testData.getCustomizationOptions());
 
         // Capture price after customization
-        String customizedPrice = productPage.getDisplayedProductPrice();
+        String customizedPrice = productPage().getDisplayedProductPrice();
 
         addProductToCart();
         navigateToCart();
 
-        String cartPrice = shoppingCartPage.getDisplayedProductPrice();
+        String cartPrice = shoppingCartPage().getDisplayedProductPrice();
 
         // Create detailed customization test data
         SearchTestData customizationData = new SearchTestData.Builder()
@@ -308,7 +296,7 @@ public class BalsamHillSearchTests extends BaseTest {
         Allure.step("Product Item has been removed");
 
         AssertionUtils.assertTrue(
-                shoppingCartPage.isKeyWordHasBeenRemovedDisplayed(),
+                shoppingCartPage().isKeyWordHasBeenRemovedDisplayed(),
                 String.format("Item removal confirmation should be displayed on browser: %s", currentBrowser));
 
         attachScreenshot(String.format("Removal confirmation dialog displays 'Item has been removed' - %s", currentBrowser));
@@ -318,22 +306,32 @@ public class BalsamHillSearchTests extends BaseTest {
 
 
 
-    // Helper Methods
-    private void initializePageObjects(WebDriver driver) {
-        if (driver == null) {
-            throw new RuntimeException("WebDriver is null - cannot initialize page objects");
-        }
+    // Page Objects, created on first use
+    private LoginPage loginPage() {
+        return PageRegistry.get(LoginPage.class, LoginPage::new);
+    }
 
-        loginPage = new LoginPage(driver);
-        myAccountPage = new MyAccountPage(driver);
-        searchResultsPage = new SearchResultsPage(driver);
-        productPage = new ProductPage(driver);
-        productDetailsModal = new ProductDetailsModal(driver);
-        shoppingCartPage = new ShoppingCartPage(driver);
+    private MyAccountPage myAccountPage() {
+        return PageRegistry.get(MyAccountPage.class, MyAccountPage::new);
+    }
 
-        log.info("Page objects initialized successfully for browser: {}", currentBrowser);
+    private SearchResultsPage searchResultsPage() {
+        return PageRegistry.get(SearchResultsPage.class, SearchResultsPage::new);
     }
 
+    private ProductPage productPage() {
+        return PageRegistry.get(ProductPage.class, ProductPage::new);
+    }
+
+    private ProductDetailsModal productDetailsModal() {
+        return PageRegistry.get(ProductDetailsModal.class, ProductDetailsModal::new);
+    }
+
+    private ShoppingCartPage shoppingCartPage() {
+        return PageRegistry.get(ShoppingCartPage.class, ShoppingCartPage::new);
+    }
+
+    // Helper Methods
     private void addTestParametersToReport(SearchTestData testData) {
         Allure.parameter("Search Term", testData.getSearchTerm());
         Allure.parameter("Expected Price", testData.getCurrentPrice());
@@ -380,17 +378,23 @@ public class BalsamHillSearchTests extends BaseTest {
     // Action Methods with Allure Steps
     @Step("Perform user login")
     private void performLogin() {
+        dismissCookiePolicyBanner();
         try {
-            loginPage.login();
+            loginPage().login();
             Allure.step(String.format("User logged in successfully on browser: %s", currentBrowser));
         } catch (InterruptedException e) {
             throw new RuntimeException("Login failed: " + e.getMessage(), e);
         }
     }
 
+    @Step("Dismiss cookie policy banner")
+    private void dismissCookiePolicyBanner() {
+        myAccountPage().dismissCookiePolicyBanner();
+    }
+
     @Step("Search for product: {searchTerm}")
     private void performSearch(String searchTerm) {
-        myAccountPage.search(searchTerm);
+        myAccountPage().search(searchTerm);
         Allure.step(String.format("Search performed for: %s on browser: %s", searchTerm, currentBrowser));
     }
 
@@ -404,7 +408,7 @@ public class BalsamHillSearchTests extends BaseTest {
     @Step("Apply product customizations")
     private void applyCustomizations(Object customizationOptions) {
         if (customizationOptions instanceof Map) {
-            productPage.selectOptions((Map<String, String>) customizationOptions);
+            productPage().selectOptions((Map<String, String>) customizationOptions);
             Allure.step(String.format("Customization options applied: %s on browser: %s",
                     customizationOptions.toString(), currentBrowser));
         }
@@ -412,19 +416,19 @@ public class BalsamHillSearchTests extends BaseTest {
 
     @Step("Add product to shopping cart")
     private void addProductToCart() {
-        productPage.addToCart();
+        productPage().addToCart();
         Allure.step(String.format("Product added to cart successfully on browser: %s", currentBrowser));
     }
 
     @Step("Navigate to shopping cart")
     private void navigateToCart() {
-        productDetailsModal.viewCart();
+        productDetailsModal().viewCart();
         Allure.step(String.format("Navigated to shopping cart on browser: %s", currentBrowser));
     }
 
     @Step("Remove item from shopping cart")
     private void removeItem() {
-        shoppingCartPage.deleteItem();
+        shoppingCartPage().deleteItem();
         Allure.step(String.format("Item removed from cart on browser: %s", currentBrowser));
     }
 
@@ -0,0 +1,139 @@
+package com.balsamhill.automation.utils;
+
+import com.balsamhill.automation.drivers.DriverManager;
+import com.balsamhill.automation.logger.LoggerWrapper;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Clicks an element with a list of fallback strategies, starting with the native strategy that
+ * has worked best for the same page element on the same browser (see {@link ClickHistory}).
+ * Script clicks bypass overlays and practically never fail, so they are never promoted by history
+ * and keep the position the caller gave them.
+ */
+public class ClickEngine {
+    private static final LoggerWrapper log = new LoggerWrapper(ClickEngine.class);
+
+    public enum Strategy {
+        /** Scroll into view, wait until clickable, then a native click */
+        SCROLL_AND_CLICK,
+        /** Native click */
+        DIRECT,
+        /** HTMLElement.click() from a script, ignoring overlays */
+        JAVASCRIPT(true),
+        /** Pointer moved onto the element, then clicked */
+        ACTIONS,
+        /** Pointer moved by half the element size from its center, then clicked */
+        OFFSET,
+        /** Native click on the closest ancestor button */
+        PARENT_BUTTON;
+
+        private final boolean scripted;
+
+        Strategy() {
+            this(false);
+        }
+
+        Strategy(boolean scripted) {
+            this.scripted = scripted;
+        }
+    }
+
+    private ClickEngine() {
+        // Private constructor to prevent instantiation
+    }
+
+    private static WebDriver getDriver() {
+        return DriverManager.getDriver();
+    }
+
+    /**
+     * Tries the strategies until one clicks without an error. Errors are recorded as failures; a
+     * click that did not throw is only recorded once the caller reports its effect through
+     * {@link #confirm(String, String, Strategy, boolean)}, since a click can land on an overlay
+     * without throwing.
+     *
+     * @param page       Page the element belongs to, e.g. "cart"
+     * @param purpose    What the element is, e.g. "delete button"
+     * @param element    The element to click
+     * @param strategies Strategies in their default order
+     * @return The strategy that clicked, or null if all of them failed
+     */
+    public static Strategy click(String page, String purpose, WebElement element, List<Strategy> strategies) {
+        WebDriver original = DriverManager.getOriginalDriver();
+        String key = page + "|" + purpose;
+        Iterator<String> natives = ClickHistory.order(original, key, strategies.stream()
+                .filter(strategy -> !strategy.scripted)
+                .map(Strategy::name)
+                .collect(Collectors.toList())).iterator();
+
+        for (Strategy declared : strategies) {
+            Strategy strategy = declared.scripted ? declared : Strategy.valueOf(natives.next());
+            String name = strategy.name();
+            try {
+                perform(strategy, element);
+                log.debug("{} click on {} {} performed", strategy, page, purpose);
+                return strategy;
+            } catch (Exception e) {
+                ClickHistory.record(original, key, name, false);
+                log.debug("{} click on {} {} failed: {}", strategy, page, purpose, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records whether a click returned by {@link #click(String, String, WebElement, List)} had the
+     * effect it was meant to have.
+     *
+     * @param strategy  The strategy that clicked; ignored if null
+     * @param effective Whether the caller observed the click's effect
+     */
+    public static void confirm(String page, String purpose, Strategy strategy, boolean effective) {
+        if (strategy != null) {
+            ClickHistory.record(DriverManager.getOriginalDriver(), page + "|" + purpose, strategy.name(), effective);
+        }
+    }
+
+    private static void perform(Strategy strategy, WebElement element) {
+        switch (strategy) {
+            case SCROLL_AND_CLICK:
+                WebElementUtils.scrollToElement(element);
+                WaitUtils.waitForAnimations(500);
+                WaitUtils.waitForElementToBeClickable(element).click();
+                break;
+            case DIRECT:
+                element.click();
+                break;
+            case JAVASCRIPT:
+                ((JavascriptExecutor) getDriver()).executeScript("arguments[0].click();", element);
+                break;
+            case ACTIONS:
+                new Actions(getDriver()).moveToElement(element)
+                        .pause(WaitUtils.animationPause(300))
+                        .click()
+                        .perform();
+                break;
+            case OFFSET:
+                Dimension size = element.getSize();
+                new Actions(getDriver()).moveToElement(element, size.getWidth() / 2, size.getHeight() / 2)
+                        .pause(WaitUtils.animationPause(300))
+                        .click()
+                        .perform();
+                break;
+            case PARENT_BUTTON:
+                element.findElement(By.xpath("./ancestor::button[1]")).click();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown click strategy: " + strategy);
+        }
+    }
+}
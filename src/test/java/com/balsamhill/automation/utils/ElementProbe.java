@@ -0,0 +1,129 @@
+package com.balsamhill.automation.utils;
+
+import com.balsamhill.automation.drivers.DriverManager;
+import com.balsamhill.automation.logger.LoggerWrapper;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers presence and visibility questions about the page as it is right now, without waiting
+ * and without throwing. CSS and XPath locators are answered by a single script call; other
+ * locators use one findElements call, which returns immediately because the framework never sets
+ * an implicit wait. Use {@link WaitUtils} when the page still has to reach the state.
+ */
+public class ElementProbe {
+    private static final LoggerWrapper log = new LoggerWrapper(ElementProbe.class);
+
+    private static final String PROBE =
+            "var using = arguments[0], value = arguments[1], count, el;" +
+            "if (using === 'xpath') {" +
+            "  var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "  count = snapshot.snapshotLength;" +
+            "  el = snapshot.snapshotItem(0);" +
+            "} else {" +
+            "  var all = document.querySelectorAll(value);" +
+            "  count = all.length;" +
+            "  el = all[0];" +
+            "}" +
+            InPageWait.VISIBLE_FUNCTION +
+            "return {count: count, visible: !!el && visible(el), enabled: !!el && !el.disabled};";
+
+    private static final State ABSENT = new State(0, false, false);
+
+    private ElementProbe() {
+        // Private constructor to prevent instantiation
+    }
+
+    private static WebDriver getDriver() {
+        return DriverManager.getDriver();
+    }
+
+    /**
+     * @return Elements currently matching the locator, or an empty list
+     */
+    public static List<WebElement> findAll(By locator) {
+        try {
+            return getDriver().findElements(locator);
+        } catch (WebDriverException e) {
+            log.debug("Probe could not search for {}: {}", locator, e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * @return Number of elements currently matching the locator
+     */
+    public static int count(By locator) {
+        return probe(locator).count;
+    }
+
+    /**
+     * @return true if at least one element currently matches the locator
+     */
+    public static boolean isPresent(By locator) {
+        return probe(locator).count > 0;
+    }
+
+    /**
+     * @return true if the first element matching the locator is currently visible
+     */
+    public static boolean isVisible(By locator) {
+        return probe(locator).visible;
+    }
+
+    /**
+     * @return true if the first element matching the locator exists and is not disabled
+     */
+    public static boolean isEnabled(By locator) {
+        return probe(locator).enabled;
+    }
+
+    private static State probe(By locator) {
+        WebDriver driver = getDriver();
+        By.Remotable.Parameters parameters = InPageWait.remoteParameters(locator);
+        if (parameters != null && driver instanceof JavascriptExecutor) {
+            try {
+                Object result = ((JavascriptExecutor) driver).executeScript(PROBE,
+                        parameters.using(), String.valueOf(parameters.value()));
+                if (result instanceof Map) {
+                    Map<?, ?> state = (Map<?, ?>) result;
+                    return new State(((Number) state.get("count")).intValue(),
+                            Boolean.TRUE.equals(state.get("visible")), Boolean.TRUE.equals(state.get("enabled")));
+                }
+            } catch (WebDriverException e) {
+                log.debug("Probe script failed for {}, using findElements: {}", locator, e.getMessage());
+            }
+        }
+
+        List<WebElement> elements = findAll(locator);
+        if (elements.isEmpty()) {
+            return ABSENT;
+        }
+        try {
+            WebElement first = elements.get(0);
+            return new State(elements.size(), first.isDisplayed(), first.isEnabled());
+        } catch (WebDriverException e) {
+            // Element went stale between the search and the state check
+            return ABSENT;
+        }
+    }
+
+    private static class State {
+        private final int count;
+        private final boolean visible;
+        private final boolean enabled;
+
+        State(int count, boolean visible, boolean enabled) {
+            this.count = count;
+            this.visible = visible;
+            this.enabled = enabled;
+        }
+    }
+}
@@ -0,0 +1,575 @@
+package com.balsamhill.automation.utils;
+
+import com.balsamhill.automation.drivers.DriverManager;
+import com.balsamhill.automation.logger.LoggerWrapper;
+import org.openqa.selenium.*;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Evaluates wait conditions inside the page with a single asynchronous script. The script
+ * re-checks on every DOM mutation and animation frame and resolves as soon as the condition
+ * holds, instead of the client polling over the wire every 500 ms. Falls back to a polling
+ * {@link WebDriverWait} when the locator cannot be evaluated in the page or the driver does not
+ * support asynchronous scripts.
+ */
+public class InPageWait {
+    private static final LoggerWrapper log = new LoggerWrapper(InPageWait.class);
+
+    /**
+     * Upper bound for one script call, kept below the WebDriver default script timeout of 30 s.
+     * Longer waits are split into several calls.
+     */
+    private static final long MAX_SLICE_MILLIS = 25_000;
+
+    private static final Set<WebDriver> UNSUPPORTED = Collections.synchronizedSet(
+            Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    /**
+     * Visibility check shared with other in-page scripts: connected, rendered and not fully transparent.
+     */
+    public static final String VISIBLE_FUNCTION =
+            "function visible(el) {" +
+            "  if (!el.isConnected) { return false; }" +
+            "  if (typeof el.checkVisibility === 'function') {" +
+            "    if (!el.checkVisibility({opacityProperty: true, visibilityProperty: true})) { return false; }" +
+            "  } else {" +
+            "    var style = getComputedStyle(el);" +
+            "    if (style.display === 'none' || style.visibility === 'hidden' || style.opacity === '0') { return false; }" +
+            "  }" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  return rect.width > 0 && rect.height > 0;" +
+            "}";
+
+    private static final String ENGINE =
+            "var args = arguments, done = args[args.length - 1];" +
+            "var locators = args[0], target = args[1], condition = args[2];" +
+            "var expected = args[3], name = args[4], timeoutMs = args[5];" +
+            "function locate(locator) {" +
+            "  if (locator[0] === 'xpath') {" +
+            "    return document.evaluate(locator[1], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  }" +
+            "  return document.querySelector(locator[1]);" +
+            "}" +
+            "function find() { return target ? target : locate(locators[0]); }" +
+            "function first() {" +
+            "  for (var i = 0; i < locators.length; i++) {" +
+            "    var match = null;" +
+            "    try { match = locate(locators[i]); } catch (e) { continue; }" +
+            "    if (match) { return {value: match, index: i}; }" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            VISIBLE_FUNCTION +
+            "function evaluate() {" +
+            "  if (condition === 'first') { return first(); }" +
+            "  var el;" +
+            "  try { el = find(); } catch (e) { return {error: String(e)}; }" +
+            "  switch (condition) {" +
+            "    case 'present': return el ? {value: el} : null;" +
+            "    case 'visible': return el && visible(el) ? {value: el} : null;" +
+            "    case 'clickable': return el && visible(el) && !el.disabled ? {value: el} : null;" +
+            "    case 'gone': return !el || !visible(el) ? {value: true} : null;" +
+            "    case 'detached': return !el || !el.isConnected ? {value: true} : null;" +
+            "    case 'text': return el && (el.innerText || el.textContent || '').indexOf(expected) >= 0 ? {value: true} : null;" +
+            "    case 'attribute':" +
+            "      if (!el) { return null; }" +
+            "      var actual = el.getAttribute(name);" +
+            "      if (actual === null && el[name] !== undefined && el[name] !== null) { actual = String(el[name]); }" +
+            "      return actual !== null && actual.indexOf(expected) >= 0 ? {value: true} : null;" +
+            "  }" +
+            "  return {error: 'Unknown condition ' + condition};" +
+            "}" +
+            "var initial = evaluate();" +
+            "if (initial) { done(initial); return; }" +
+            "var finished = false, observer = null, timer = null;" +
+            "function finish(result) {" +
+            "  if (finished) { return; }" +
+            "  finished = true;" +
+            "  if (observer) { observer.disconnect(); }" +
+            "  clearTimeout(timer);" +
+            "  done(result);" +
+            "}" +
+            "function check() { var result = evaluate(); if (result) { finish(result); } }" +
+            "observer = new MutationObserver(check);" +
+            "observer.observe(document.documentElement || document," +
+            "  {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "function frame() { if (!finished) { check(); requestAnimationFrame(frame); } }" +
+            "requestAnimationFrame(frame);" +
+            "timer = setTimeout(function () { finish(evaluate() || {timeout: true}); }, timeoutMs);";
+
+    /**
+     * Installs a MutationObserver (once per document) that records the time of the last DOM mutation.
+     */
+    private static final String DOM_OBSERVER =
+            "var state = window.__domStability;" +
+            "if (!state) {" +
+            "  state = window.__domStability = {last: performance.now()};" +
+            "  new MutationObserver(function (records) {" +
+            // Style and class churn from carousels, transitions and animated widgets is not page content
+            "    if (records.some(function (r) {" +
+            "      return r.type !== 'attributes' || (r.attributeName !== 'style' && r.attributeName !== 'class');" +
+            "    })) { state.last = performance.now(); }" +
+            "  })" +
+            "    .observe(document.documentElement || document," +
+            "      {subtree: true, childList: true, attributes: true, characterData: true});" +
+            "}";
+
+    /**
+     * Resolves once nothing has changed in the DOM for the quiet period.
+     */
+    private static final String DOM_QUIET =
+            "var quietMs = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];" +
+            DOM_OBSERVER +
+            "var start = performance.now();" +
+            "function check() {" +
+            "  var now = performance.now(), idle = now - state.last, waited = now - start;" +
+            "  if (idle >= quietMs) { done({stable: true, idle: idle}); return; }" +
+            "  if (waited >= timeoutMs) { done({stable: false, idle: idle}); return; }" +
+            "  setTimeout(check, Math.max(10, Math.min(quietMs - idle, timeoutMs - waited)));" +
+            "}" +
+            "check();";
+
+    /**
+     * Wraps fetch and XMLHttpRequest (once per document) to count in-flight requests that pass
+     * the URL filters, then resolves once none has been pending for the idle period. Requests
+     * pending longer than the maximum age are treated as long polls and ignored.
+     */
+    private static final String NETWORK_IDLE =
+            "var idleMs = arguments[0], timeoutMs = arguments[1], include = arguments[2], exclude = arguments[3];" +
+            "var maxAgeMs = arguments[4], done = arguments[arguments.length - 1];" +
+            "var net = window.__networkActivity;" +
+            "if (!net) {" +
+            "  net = window.__networkActivity = {pending: {}, seq: 0, last: performance.now()};" +
+            "  var inc = include.map(function (r) { return new RegExp(r); });" +
+            "  var exc = exclude.map(function (r) { return new RegExp(r); });" +
+            "  var tracked = function (url) {" +
+            "    try { url = new URL(String(url), location.href).href; } catch (e) { url = String(url); }" +
+            "    return (!inc.length || inc.some(function (r) { return r.test(url); }))" +
+            "      && !exc.some(function (r) { return r.test(url); });" +
+            "  };" +
+            "  var begin = function (url) {" +
+            "    if (!tracked(url)) { return null; }" +
+            "    var id = ++net.seq; net.pending[id] = performance.now(); net.last = performance.now(); return id;" +
+            "  };" +
+            "  var end = function (id) {" +
+            "    if (id !== null && net.pending[id] !== undefined) { delete net.pending[id]; net.last = performance.now(); }" +
+            "  };" +
+            "  if (window.fetch) {" +
+            "    var originalFetch = window.fetch;" +
+            "    window.fetch = function (input) {" +
+            "      var id = begin(input && input.url ? input.url : input);" +
+            "      return originalFetch.apply(this, arguments).finally(function () { end(id); });" +
+            "    };" +
+            "  }" +
+            "  var open = XMLHttpRequest.prototype.open, send = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.open = function (method, url) { this.__trackedUrl = url; return open.apply(this, arguments); };" +
+            "  XMLHttpRequest.prototype.send = function () {" +
+            "    var id = begin(this.__trackedUrl);" +
+            "    this.addEventListener('loadend', function () { end(id); });" +
+            "    return send.apply(this, arguments);" +
+            "  };" +
+            "}" +
+            "var start = performance.now();" +
+            "function check() {" +
+            "  var now = performance.now();" +
+            "  var busy = Object.keys(net.pending).some(function (id) { return now - net.pending[id] < maxAgeMs; });" +
+            "  var idle = busy ? 0 : Math.min(now - net.last, now - start);" +
+            "  if (idle >= idleMs) { done({idle: true}); return; }" +
+            "  if (now - start >= timeoutMs) { done({idle: false}); return; }" +
+            "  setTimeout(check, 50);" +
+            "}" +
+            "check();";
+
+    /**
+     * Conditions the in-page engine can evaluate, named as in the script.
+     */
+    public enum Condition {
+        PRESENT("present"),
+        VISIBLE("visible"),
+        CLICKABLE("clickable"),
+        GONE("gone"),
+        DETACHED("detached"),
+        TEXT("text"),
+        ATTRIBUTE("attribute"),
+        FIRST("first");
+
+        private final String scriptName;
+
+        Condition(String scriptName) {
+            this.scriptName = scriptName;
+        }
+    }
+
+    /**
+     * The winner of a multi-locator race: the element and the position of its locator in the
+     * priority list.
+     */
+    public static class Match {
+        private final int index;
+        private final WebElement element;
+
+        Match(int index, WebElement element) {
+            this.index = index;
+            this.element = element;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public WebElement getElement() {
+            return element;
+        }
+    }
+
+    private InPageWait() {
+        // Private constructor to prevent instantiation
+    }
+
+    /**
+     * Waits for a condition on the first element matching the locator.
+     *
+     * @param condition      The condition to wait for
+     * @param locator        The element locator
+     * @param timeoutSeconds Maximum time to wait
+     * @param fallback       The equivalent polling condition, used when the engine is unavailable
+     * @return The matching element for element conditions, Boolean.TRUE otherwise
+     * @throws TimeoutException if the condition does not hold within the timeout
+     */
+    public static <T> T until(Condition condition, By locator, int timeoutSeconds, ExpectedCondition<T> fallback) {
+        return until(condition, locator, null, null, null, timeoutSeconds, false, fallback);
+    }
+
+    /**
+     * Waits for a condition on an element the caller expects to appear. Unlike {@link #until},
+     * the timeout learned from earlier runs may exceed the requested one, up to the explicit timeout.
+     */
+    public static <T> T untilExpected(Condition condition, By locator, int timeoutSeconds, ExpectedCondition<T> fallback) {
+        return until(condition, locator, null, null, null, timeoutSeconds, true, fallback);
+    }
+
+    /**
+     * Waits for a condition on an element that has already been located.
+     */
+    public static <T> T until(Condition condition, WebElement element, int timeoutSeconds, ExpectedCondition<T> fallback) {
+        return until(condition, null, element, null, null, timeoutSeconds, false, fallback);
+    }
+
+    /**
+     * Waits for the located element's text to contain the expected value.
+     */
+    public static Boolean untilText(By locator, String text, int timeoutSeconds, ExpectedCondition<Boolean> fallback) {
+        return until(Condition.TEXT, locator, null, text, null, timeoutSeconds, false, fallback);
+    }
+
+    /**
+     * Waits for the located element's attribute (or property) to contain the expected value.
+     */
+    public static Boolean untilAttribute(By locator, String attribute, String value, int timeoutSeconds,
+                                         ExpectedCondition<Boolean> fallback) {
+        return until(Condition.ATTRIBUTE, locator, null, value, attribute, timeoutSeconds, false, fallback);
+    }
+
+    /**
+     * Waits until any of the locators matches an element. Every locator is checked on each
+     * evaluation and the one earliest in the list wins, all within one shared timeout.
+     *
+     * @param locators       Candidate locators in priority order
+     * @param timeoutSeconds Maximum time to wait for any of them
+     * @return The winning match, or null if none matched within the timeout
+     */
+    public static Match untilFirst(List<By> locators, int timeoutSeconds) {
+        WebDriver driver = DriverManager.getDriver();
+        long start = System.currentTimeMillis();
+        long deadline = start + Duration.ofSeconds(timeoutSeconds).toMillis();
+        WaitMetrics.Outcome outcome = WaitMetrics.Outcome.ERROR;
+        try {
+            Map<String, Object> result = evaluate(driver, deadline, Condition.FIRST, locators, null, null, null);
+            if (result != null) {
+                outcome = WaitMetrics.Outcome.SATISFIED;
+                return new Match(((Number) result.get("index")).intValue(), (WebElement) result.get("value"));
+            }
+            Match match = poll(driver, deadline, webDriver -> {
+                for (int i = 0; i < locators.size(); i++) {
+                    List<WebElement> found = webDriver.findElements(locators.get(i));
+                    if (!found.isEmpty()) {
+                        return new Match(i, found.get(0));
+                    }
+                }
+                return null;
+            });
+            outcome = WaitMetrics.Outcome.SATISFIED;
+            return match;
+        } catch (TimeoutException e) {
+            outcome = WaitMetrics.Outcome.TIMEOUT;
+            return null;
+        } finally {
+            WaitMetrics.record(DriverManager.getOriginalDriver(), Condition.FIRST.scriptName, locators, outcome,
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Waits until the DOM has not changed for the given quiet period. A navigation during the
+     * wait restarts the quiet period in the new document.
+     *
+     * @param quietMillis    How long the DOM must stay unchanged
+     * @param timeoutSeconds Maximum time to wait
+     * @return true if the DOM became stable, false if it was still changing at the timeout
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean untilDomQuiet(long quietMillis, int timeoutSeconds) {
+        WebDriver driver = DriverManager.getDriver();
+        long deadline = System.currentTimeMillis() + Duration.ofSeconds(timeoutSeconds).toMillis();
+
+        while (true) {
+            long slice = Math.max(0, Math.min(deadline - System.currentTimeMillis(), MAX_SLICE_MILLIS));
+            Object response;
+            try {
+                response = isEnabled(driver)
+                        ? ((JavascriptExecutor) driver).executeAsyncScript(DOM_QUIET, quietMillis, slice)
+                        : pollDomQuiet(driver, quietMillis, slice);
+            } catch (ScriptTimeoutException | JavascriptException e) {
+                log.debug("DOM stability wait interrupted, retrying: {}", e.getMessage());
+                response = null;
+            } catch (UnsupportedCommandException | ClassCastException e) {
+                log.warn("Asynchronous scripts unavailable, falling back to polling waits: {}", e.getMessage());
+                UNSUPPORTED.add(DriverManager.getOriginalDriver());
+                continue;
+            }
+
+            if (response instanceof Map && Boolean.TRUE.equals(((Map<String, Object>) response).get("stable"))) {
+                return true;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Waits until no request matching the filters has been in flight for the idle period, using
+     * fetch/XHR wrappers injected into the page. Requests started before the first call in a
+     * document are not seen.
+     *
+     * @param idleMillis          How long the network must stay idle
+     * @param timeoutSeconds      Maximum time to wait
+     * @param include             URL globs to track; empty tracks every URL
+     * @param exclude             URL globs to ignore, e.g. analytics beacons
+     * @param maxRequestAgeMillis Requests pending longer than this are ignored
+     * @return true if the network became idle, false on timeout or when scripts are unavailable
+     */
+    @SuppressWarnings("unchecked")
+    public static boolean untilNetworkIdle(long idleMillis, int timeoutSeconds, List<String> include,
+                                           List<String> exclude, long maxRequestAgeMillis) {
+        WebDriver driver = DriverManager.getDriver();
+        if (!isEnabled(driver)) {
+            return false;
+        }
+        List<String> includeRegex = include.stream().map(InPageWait::globToRegex).collect(Collectors.toList());
+        List<String> excludeRegex = exclude.stream().map(InPageWait::globToRegex).collect(Collectors.toList());
+        long deadline = System.currentTimeMillis() + Duration.ofSeconds(timeoutSeconds).toMillis();
+
+        while (true) {
+            long slice = Math.max(0, Math.min(deadline - System.currentTimeMillis(), MAX_SLICE_MILLIS));
+            try {
+                Object response = ((JavascriptExecutor) driver).executeAsyncScript(NETWORK_IDLE,
+                        idleMillis, slice, includeRegex, excludeRegex, maxRequestAgeMillis);
+                if (response instanceof Map && Boolean.TRUE.equals(((Map<String, Object>) response).get("idle"))) {
+                    return true;
+                }
+            } catch (ScriptTimeoutException | JavascriptException e) {
+                log.debug("Network idle wait interrupted, retrying: {}", e.getMessage());
+            } catch (UnsupportedCommandException | ClassCastException e) {
+                log.warn("Asynchronous scripts unavailable, cannot track network activity: {}", e.getMessage());
+                UNSUPPORTED.add(DriverManager.getOriginalDriver());
+                return false;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Converts a URL glob where '*' matches anything into an anchored JavaScript regex.
+     */
+    private static String globToRegex(String glob) {
+        StringBuilder regex = new StringBuilder("^");
+        for (char c : glob.toCharArray()) {
+            if (c == '*') {
+                regex.append(".*");
+            } else if ("\\^$.|?+()[]{}/".indexOf(c) >= 0) {
+                regex.append('\\').append(c);
+            } else {
+                regex.append(c);
+            }
+        }
+        return regex.append('$').toString();
+    }
+
+    /**
+     * Polling equivalent of {@link #DOM_QUIET} for drivers without asynchronous script support.
+     */
+    private static Object pollDomQuiet(WebDriver driver, long quietMillis, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (true) {
+            Object idle = ((JavascriptExecutor) driver).executeScript(DOM_OBSERVER + "return performance.now() - state.last;");
+            if (idle instanceof Number && ((Number) idle).longValue() >= quietMillis) {
+                return Map.of("stable", true);
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                return Map.of("stable", false);
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Map.of("stable", false);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T until(Condition condition, By locator, WebElement element, String expected, String name,
+                               int timeoutSeconds, boolean mayGrow, ExpectedCondition<T> fallback) {
+        WebDriver driver = DriverManager.getDriver();
+        WebDriver original = DriverManager.getOriginalDriver();
+        if (locator != null) {
+            // Locator waits use the timeout learned from earlier runs, then are bounded by the wait budget
+            timeoutSeconds = WaitBudget.clamp(
+                    WaitHistory.timeoutFor(original, condition.scriptName, locator, timeoutSeconds, mayGrow));
+        }
+        long start = System.currentTimeMillis();
+        long deadline = start + Duration.ofSeconds(timeoutSeconds).toMillis();
+        List<By> locators = locator == null ? List.of() : List.of(locator);
+
+        WaitMetrics.Outcome outcome = WaitMetrics.Outcome.ERROR;
+        try {
+            Map<String, Object> result = evaluate(driver, deadline, condition, locators, element, expected, name);
+            T value = result == null ? poll(driver, deadline, fallback) : (T) result.get("value");
+            outcome = WaitMetrics.Outcome.SATISFIED;
+            if (locator != null) {
+                WaitHistory.record(original, condition.scriptName, locator, System.currentTimeMillis() - start);
+            }
+            return value;
+        } catch (TimeoutException e) {
+            outcome = WaitMetrics.Outcome.TIMEOUT;
+            if (locator != null) {
+                WaitHistory.recordTimeout(original, condition.scriptName, locator, System.currentTimeMillis() - start);
+            }
+            throw e;
+        } finally {
+            WaitMetrics.record(original, condition.scriptName, locator != null ? locator : describe(element), outcome,
+                    System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Reduces an element to the locator it was found by, so waits on different elements found the
+     * same way share one metrics entry.
+     */
+    private static String describe(WebElement element) {
+        String text = String.valueOf(element);
+        int foundBy = text.lastIndexOf("-> ");
+        return foundBy < 0 ? "element" : "element " + text.substring(foundBy + 3).replaceAll("]+$", "");
+    }
+
+    /**
+     * Runs the engine until the condition holds or the deadline passes.
+     *
+     * @return The script result holding the value, or null if the caller should poll instead
+     * @throws TimeoutException if the condition does not hold before the deadline
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> evaluate(WebDriver driver, long deadline, Condition condition, List<By> locators,
+                                                WebElement element, String expected, String name) {
+        if (!isEnabled(driver)) {
+            return null;
+        }
+        List<List<String>> remoteLocators = new ArrayList<>();
+        for (By locator : locators) {
+            By.Remotable.Parameters parameters = remoteParameters(locator);
+            if (parameters == null) {
+                return null;
+            }
+            remoteLocators.add(List.of(parameters.using(), String.valueOf(parameters.value())));
+        }
+        String description = element != null ? "element" : locators.toString();
+
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            long slice = Math.max(0, Math.min(remaining, MAX_SLICE_MILLIS));
+            Object response;
+            try {
+                response = ((JavascriptExecutor) driver).executeAsyncScript(ENGINE,
+                        remoteLocators, element, condition.scriptName, expected, name, slice);
+            } catch (StaleElementReferenceException e) {
+                if (condition == Condition.DETACHED) {
+                    return Map.of("value", Boolean.TRUE);
+                }
+                throw e;
+            } catch (ScriptTimeoutException | JavascriptException e) {
+                // Navigation or a reload discarded the script; evaluate again in the new document
+                if (System.currentTimeMillis() >= deadline) {
+                    throw new TimeoutException("Timed out waiting for " + condition + " of " + description, e);
+                }
+                log.debug("In-page wait interrupted, retrying: {}", e.getMessage());
+                continue;
+            } catch (UnsupportedCommandException | ClassCastException e) {
+                log.warn("Asynchronous scripts unavailable, falling back to polling waits: {}", e.getMessage());
+                UNSUPPORTED.add(DriverManager.getOriginalDriver());
+                return null;
+            }
+
+            if (!(response instanceof Map)) {
+                return null;
+            }
+            Map<String, Object> result = (Map<String, Object>) response;
+            if (result.containsKey("value")) {
+                return result;
+            }
+            if (result.containsKey("error")) {
+                log.debug("In-page wait cannot evaluate {}: {}", description, result.get("error"));
+                return null;
+            }
+            if (System.currentTimeMillis() >= deadline) {
+                throw new TimeoutException("Timed out waiting for " + condition + " of " + description);
+            }
+        }
+    }
+
+    private static boolean isEnabled(WebDriver driver) {
+        return ConfigManager.isInPageWaitEnabled()
+                && driver instanceof JavascriptExecutor
+                && !UNSUPPORTED.contains(DriverManager.getOriginalDriver());
+    }
+
+    /**
+     * Only CSS and XPath locators can be evaluated in the page. By.id, By.name, By.className and
+     * By.tagName are sent as CSS selectors and qualify as well.
+     */
+    static By.Remotable.Parameters remoteParameters(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String using = parameters.using();
+        return "css selector".equals(using) || "xpath".equals(using) ? parameters : null;
+    }
+
+    private static <T> T poll(WebDriver driver, long deadline, ExpectedCondition<T> fallback) {
+        long remaining = Math.max(0, deadline - System.currentTimeMillis());
+        return new WebDriverWait(driver, Duration.ofMillis(remaining)).until(fallback);
+    }
+}
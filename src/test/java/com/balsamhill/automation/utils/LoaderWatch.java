@@ -0,0 +1,150 @@
+package com.balsamhill.automation.utils;
+
+import com.balsamhill.automation.drivers.DriverManager;
+import com.balsamhill.automation.logger.LoggerWrapper;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Map;
+
+/**
+ * Records in the page whether a loader became visible, and whether it went away again, after an
+ * action started. Arm the watch right before the click or submit that may show the loader, then
+ * pass it to {@link WaitUtils#waitForLoaderToDisappear(LoaderWatch, int)}; the wait no longer has
+ * to guess whether a loader that is not visible yet is still going to appear.
+ */
+public class LoaderWatch {
+    private static final LoggerWrapper log = new LoggerWrapper(LoaderWatch.class);
+
+    /**
+     * Watches are dropped after this long even if nobody reads them.
+     */
+    private static final long MAX_WATCH_MILLIS = 120_000;
+
+    private static final String ARM =
+            "var using = arguments[0], value = arguments[1], maxMs = arguments[2];" +
+            InPageWait.VISIBLE_FUNCTION +
+            "function locate() {" +
+            "  if (using === 'xpath') {" +
+            "    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  }" +
+            "  return document.querySelector(value);" +
+            "}" +
+            "var watches = window.__loaderWatches = window.__loaderWatches || {};" +
+            "var key = Date.now().toString(36) + Math.random().toString(36).slice(2);" +
+            "var state = watches[key] = {armedAt: performance.now(), seenAt: null, goneAt: null, waiters: []};" +
+            "function notify() { state.waiters.splice(0).forEach(function (waiter) { waiter(); }); }" +
+            "function check() {" +
+            "  var el = null;" +
+            "  try { el = locate(); } catch (e) { el = null; }" +
+            "  var shown = !!el && visible(el);" +
+            "  if (shown && state.seenAt === null) { state.seenAt = performance.now(); notify(); }" +
+            "  else if (shown) { state.goneAt = null; }" +
+            "  else if (state.seenAt !== null && state.goneAt === null) { state.goneAt = performance.now(); notify(); }" +
+            "}" +
+            "var observer = new MutationObserver(check);" +
+            "observer.observe(document.documentElement || document," +
+            "  {subtree: true, childList: true, attributes: true});" +
+            "state.stop = function () { observer.disconnect(); delete watches[key]; };" +
+            "setTimeout(state.stop, maxMs);" +
+            "check();" +
+            "return key;";
+
+    /**
+     * Resolves once the loader has been seen or the appearance window since arming has passed.
+     * The watch is released unless the loader is still visible.
+     */
+    private static final String AWAIT =
+            "var done = arguments[arguments.length - 1];" +
+            "var state = (window.__loaderWatches || {})[arguments[0]], windowMs = arguments[1];" +
+            "if (!state) { done(null); return; }" +
+            "var finished = false;" +
+            "function finish() {" +
+            "  if (finished) { return; }" +
+            "  finished = true;" +
+            "  var seen = state.seenAt !== null, gone = state.goneAt !== null;" +
+            "  if (!seen || gone) { state.stop(); }" +
+            "  done({seen: seen, gone: gone, appearedAfter: seen ? Math.round(state.seenAt - state.armedAt) : -1," +
+            "    elapsed: Math.round(performance.now() - state.armedAt)});" +
+            "}" +
+            "var remaining = windowMs - (performance.now() - state.armedAt);" +
+            "if (state.seenAt !== null || remaining <= 0) { finish(); return; }" +
+            "state.waiters.push(finish);" +
+            "setTimeout(finish, remaining);";
+
+    /**
+     * What the watch saw between arming and the end of the appearance window.
+     */
+    public enum Outcome {
+        /** The loader appeared and is already gone again */
+        CAME_AND_WENT,
+        /** The loader is visible and has to be waited out */
+        VISIBLE,
+        /** The loader did not appear within the window */
+        NEVER_APPEARED,
+        /** The watch could not be armed or was lost with a navigation */
+        UNKNOWN
+    }
+
+    private final By locator;
+    private final String key;
+
+    private LoaderWatch(By locator, String key) {
+        this.locator = locator;
+        this.key = key;
+    }
+
+    /**
+     * Starts watching for the loader. Call right before the action that may trigger it.
+     *
+     * @param locator The loader locator
+     * @return A watch to pass to {@link WaitUtils#waitForLoaderToDisappear(LoaderWatch, int)}
+     */
+    public static LoaderWatch arm(By locator) {
+        WebDriver driver = DriverManager.getDriver();
+        By.Remotable.Parameters parameters = InPageWait.remoteParameters(locator);
+        if (parameters == null || !(driver instanceof JavascriptExecutor)) {
+            return new LoaderWatch(locator, null);
+        }
+        try {
+            Object key = ((JavascriptExecutor) driver).executeScript(ARM,
+                    parameters.using(), String.valueOf(parameters.value()), MAX_WATCH_MILLIS);
+            return new LoaderWatch(locator, key instanceof String ? (String) key : null);
+        } catch (WebDriverException e) {
+            log.debug("Loader watch could not be armed for {}: {}", locator, e.getMessage());
+            return new LoaderWatch(locator, null);
+        }
+    }
+
+    public By getLocator() {
+        return locator;
+    }
+
+    /**
+     * Waits at most until the appearance window, measured from arming, has passed.
+     *
+     * @param windowMillis How long after arming a loader may still appear
+     */
+    Outcome await(long windowMillis) {
+        if (key == null) {
+            return Outcome.UNKNOWN;
+        }
+        try {
+            Object response = ((JavascriptExecutor) DriverManager.getDriver()).executeAsyncScript(AWAIT, key, windowMillis);
+            if (!(response instanceof Map)) {
+                return Outcome.UNKNOWN;
+            }
+            Map<?, ?> state = (Map<?, ?>) response;
+            log.debug("Loader watch for {}: {}", locator, state);
+            if (!Boolean.TRUE.equals(state.get("seen"))) {
+                return Outcome.NEVER_APPEARED;
+            }
+            return Boolean.TRUE.equals(state.get("gone")) ? Outcome.CAME_AND_WENT : Outcome.VISIBLE;
+        } catch (WebDriverException e) {
+            log.debug("Loader watch for {} could not be read: {}", locator, e.getMessage());
+            return Outcome.UNKNOWN;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.openqa.selenium.*;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class PageUtils {
     private static final LoggerWrapper log = new LoggerWrapper(PageUtils.class);
@@ -57,7 +58,7 @@ public class PageUtils {
                     try {
                         WebElement cookieButton = driver.findElement(selector);
 
-                        if (WaitUtils.isElementVisible(cookieBannerBy) && WaitUtils.isEnabled(cookieBannerBy)) {
+                        if (ElementProbe.isVisible(cookieBannerBy) && ElementProbe.isEnabled(cookieBannerBy)) {
                             WebElementUtils.click(cookieButton);
                             log.step("Cookie banner dismissed successfully");
 
@@ -89,12 +90,16 @@ public class PageUtils {
                 "[aria-label='Close cookie banner']"
         };
 
-        for (String selector : selectors) {
+        List<By> candidates = Arrays.stream(selectors).map(By::cssSelector).collect(Collectors.toList());
+        int first = WaitUtils.waitForFirstIndex(candidates, 2);
+        if (first < 0) {
+            return;
+        }
+
+        for (int i = first; i < candidates.size(); i++) {
             try {
-                By bannerBy = By.cssSelector(selector);
-                WebElement cookieBanner = WaitUtils.waitForElementPresent(bannerBy, 2);
-                cookieBanner.click();
-                System.out.println("Cookie banner closed with selector: " + selector);
+                driver.findElement(candidates.get(i)).click();
+                System.out.println("Cookie banner closed with selector: " + selectors[i]);
                 return; // Success - exit method
             } catch (Exception e) {
                 // Try next selector
@@ -1,6 +1,8 @@
 package com.balsamhill.automation.utils;
 
+import com.balsamhill.automation.drivers.AnimationFreeMode;
 import com.balsamhill.automation.drivers.DriverManager;
+import com.balsamhill.automation.drivers.NetworkActivityTracker;
 import com.balsamhill.automation.logger.LoggerWrapper;
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
@@ -9,12 +11,17 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 
 public class WaitUtils {
     private static final LoggerWrapper log = new LoggerWrapper(WaitUtils.class);
     private static final int DEFAULT_TIMEOUT = 10;
     private static final int SHORT_TIMEOUT = 5;
     private static final int LOADER_DETECTION_TIMEOUT = 2;
+    private static final int READINESS_TIMEOUT = 15;
+    private static final long DOM_QUIET_PERIOD_MILLIS = 500;
+    private static final int DOM_STABLE_TIMEOUT = 3;
+    private static final long LOADER_APPEARANCE_WINDOW_MILLIS = 1000;
 
     private WaitUtils() {
         // Private constructor to prevent instantiation
@@ -24,12 +31,28 @@ public class WaitUtils {
         return DriverManager.getDriver();
     }
 
-    private static WebDriverWait getWait(int timeoutSeconds) {
-        return new WebDriverWait(getDriver(), Duration.ofSeconds(timeoutSeconds));
+    /**
+     * Polls the condition and records the wait in {@link WaitMetrics}.
+     */
+    private static <T> T until(String condition, Object target, int timeoutSeconds,
+                               Function<? super WebDriver, T> expected) {
+        long start = System.currentTimeMillis();
+        WaitMetrics.Outcome outcome = WaitMetrics.Outcome.ERROR;
+        try {
+            T value = new WebDriverWait(getDriver(), Duration.ofSeconds(timeoutSeconds)).until(expected);
+            outcome = WaitMetrics.Outcome.SATISFIED;
+            return value;
+        } catch (TimeoutException e) {
+            outcome = WaitMetrics.Outcome.TIMEOUT;
+            throw e;
+        } finally {
+            record(condition, target, outcome, start);
+        }
     }
 
-    private static WebDriverWait getWait() {
-        return getWait(DEFAULT_TIMEOUT);
+    private static void record(String condition, Object target, WaitMetrics.Outcome outcome, long start) {
+        WaitMetrics.record(DriverManager.getOriginalDriver(), condition, target, outcome,
+                System.currentTimeMillis() - start);
     }
 
     // Element visibility waits
@@ -38,8 +61,10 @@ public class WaitUtils {
     }
 
     public static WebElement waitForElementToBeVisible(By locator, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            WebElement element = getWait(timeoutSeconds).until(ExpectedConditions.visibilityOfElementLocated(locator));
+            WebElement element = InPageWait.untilExpected(InPageWait.Condition.VISIBLE, locator, timeoutSeconds,
+                    ExpectedConditions.visibilityOfElementLocated(locator));
             log.debug("Element became visible: {}", locator);
             return element;
         } catch (Exception e) {
@@ -54,8 +79,10 @@ public class WaitUtils {
     }
 
     public static WebElement waitForElementToBeClickable(By locator, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            WebElement element = getWait(timeoutSeconds).until(ExpectedConditions.elementToBeClickable(locator));
+            WebElement element = InPageWait.untilExpected(InPageWait.Condition.CLICKABLE, locator, timeoutSeconds,
+                    ExpectedConditions.elementToBeClickable(locator));
             log.debug("Element became clickable: {}", locator);
             return element;
         } catch (Exception e) {
@@ -69,8 +96,10 @@ public class WaitUtils {
     }
 
     public static WebElement waitForElementToBeClickable(WebElement element, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            WebElement clickableElement = getWait(timeoutSeconds).until(ExpectedConditions.elementToBeClickable(element));
+            WebElement clickableElement = InPageWait.until(InPageWait.Condition.CLICKABLE, element, timeoutSeconds,
+                    ExpectedConditions.elementToBeClickable(element));
             log.debug("WebElement became clickable");
             return clickableElement;
         } catch (Exception e) {
@@ -85,8 +114,10 @@ public class WaitUtils {
     }
 
     public static WebElement waitForElementPresent(By locator, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            WebElement element = getWait(timeoutSeconds).until(ExpectedConditions.presenceOfElementLocated(locator));
+            WebElement element = InPageWait.untilExpected(InPageWait.Condition.PRESENT, locator, timeoutSeconds,
+                    ExpectedConditions.presenceOfElementLocated(locator));
             log.debug("Element present: {}", locator);
             return element;
         } catch (Exception e) {
@@ -101,8 +132,10 @@ public class WaitUtils {
     }
 
     public static List<WebElement> waitForAllElementsVisible(By locator, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            List<WebElement> elements = getWait(timeoutSeconds).until(ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
+            List<WebElement> elements = until("allVisible", locator, timeoutSeconds,
+                    ExpectedConditions.visibilityOfAllElementsLocatedBy(locator));
             log.debug("All elements visible: {} (count: {})", locator, elements.size());
             return elements;
         } catch (Exception e) {
@@ -117,8 +150,10 @@ public class WaitUtils {
     }
 
     public static List<WebElement> findElementsWithWait(By locator, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            getWait(timeoutSeconds).until(ExpectedConditions.presenceOfElementLocated(locator));
+            InPageWait.until(InPageWait.Condition.PRESENT, locator, timeoutSeconds,
+                    ExpectedConditions.presenceOfElementLocated(locator));
             List<WebElement> elements = getDriver().findElements(locator);
             log.debug("Found {} elements with wait for locator: {}", elements.size(), locator);
             return elements;
@@ -128,14 +163,54 @@ public class WaitUtils {
         }
     }
 
+    // Multi-locator race waits
+    /**
+     * Waits for whichever of the locators matches first. All candidates are checked on every
+     * evaluation and share one timeout, so fallback selector chains no longer wait for each miss.
+     *
+     * @param locators       Candidate locators in priority order
+     * @param timeoutSeconds Maximum time to wait for any of them
+     * @return The element matched by the highest-priority locator present
+     */
+    public static WebElement waitForFirst(List<By> locators, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
+        InPageWait.Match match = InPageWait.untilFirst(locators, timeoutSeconds);
+        if (match == null) {
+            log.error("None of the locators present within {} seconds: {}", timeoutSeconds, locators);
+            throw new RuntimeException("None of the locators present: " + locators);
+        }
+        log.debug("First present locator: {}", locators.get(match.getIndex()));
+        return match.getElement();
+    }
+
+    public static WebElement waitForFirst(List<By> locators) {
+        return waitForFirst(locators, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Same as {@link #waitForFirst(List, int)} but returns the position of the winning locator.
+     *
+     * @return Index of the highest-priority locator present, or -1 if none matched in time
+     */
+    public static int waitForFirstIndex(List<By> locators, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
+        InPageWait.Match match = InPageWait.untilFirst(locators, timeoutSeconds);
+        if (match == null) {
+            log.debug("None of the locators present within {} seconds: {}", timeoutSeconds, locators);
+            return -1;
+        }
+        return match.getIndex();
+    }
+
     // Page state waits
     public static boolean waitForUrlContains(String urlFraction) {
         return waitForUrlContains(urlFraction, DEFAULT_TIMEOUT);
     }
 
     public static boolean waitForUrlContains(String urlFraction, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            boolean result = getWait(timeoutSeconds).until(ExpectedConditions.urlContains(urlFraction));
+            boolean result = until("urlContains", urlFraction, timeoutSeconds, ExpectedConditions.urlContains(urlFraction));
             log.debug("URL contains '{}': {}", urlFraction, result);
             return result;
         } catch (Exception e) {
@@ -149,8 +224,9 @@ public class WaitUtils {
     }
 
     public static boolean waitForTitleContains(String title, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            boolean result = getWait(timeoutSeconds).until(ExpectedConditions.titleContains(title));
+            boolean result = until("titleContains", title, timeoutSeconds, ExpectedConditions.titleContains(title));
             log.debug("Title contains '{}': {}", title, result);
             return result;
         } catch (Exception e) {
@@ -163,24 +239,177 @@ public class WaitUtils {
         waitForPageLoad(DEFAULT_TIMEOUT);
     }
 
+    /**
+     * Waits for the document to load. With the normal page load strategy this means readyState
+     * "complete"; with eager or none it only requires "interactive", leaving the rest to the
+     * page's readiness contract.
+     */
     public static void waitForPageLoad(int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
+        boolean requireComplete = isNormalPageLoadStrategy();
         try {
-            getWait(timeoutSeconds).until(webDriver ->
-                    ((JavascriptExecutor) webDriver).executeScript("return document.readyState").equals("complete"));
+            until("pageLoad", "document", timeoutSeconds, webDriver -> {
+                Object state = ((JavascriptExecutor) webDriver).executeScript("return document.readyState");
+                return "complete".equals(state) || (!requireComplete && "interactive".equals(state));
+            });
             log.debug("Page loaded successfully");
         } catch (Exception e) {
             log.warn("Page load wait timed out after {} seconds", timeoutSeconds);
         }
     }
 
+    /**
+     * Waits until the document is interactive and all of a page's ready signals are visible.
+     *
+     * @param readySignals Locators that together mean the page is usable
+     * @return true if the page became ready, false if the wait timed out
+     */
+    public static boolean waitForReadiness(List<By> readySignals) {
+        return waitForReadiness(readySignals, READINESS_TIMEOUT);
+    }
+
+    public static boolean waitForReadiness(List<By> readySignals, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
+        try {
+            until("readiness", readySignals, timeoutSeconds, webDriver -> {
+                Object state = ((JavascriptExecutor) webDriver).executeScript("return document.readyState");
+                if ("loading".equals(state)) {
+                    return false;
+                }
+                for (By signal : readySignals) {
+                    List<WebElement> elements = webDriver.findElements(signal);
+                    if (elements.isEmpty() || !elements.get(0).isDisplayed()) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+            log.debug("Page ready, signals visible: {}", readySignals);
+            return true;
+        } catch (Exception e) {
+            log.warn("Page not ready within {} seconds, signals: {}", timeoutSeconds, readySignals);
+            return false;
+        }
+    }
+
+    // DOM stability waits
+    /**
+     * Waits until the DOM has stopped changing. Use instead of fixed sleeps after actions that
+     * re-render part of the page. Pages with live widgets may never go fully quiet, so the wait
+     * gives up after a few seconds, close to the sleeps it replaces.
+     *
+     * @return true if the DOM became stable, false if it was still changing at the timeout
+     */
+    public static boolean waitForDomStable() {
+        return waitForDomStable(DOM_QUIET_PERIOD_MILLIS, DOM_STABLE_TIMEOUT);
+    }
+
+    /**
+     * Waits until no DOM mutation has happened for the quiet period.
+     *
+     * @param quietPeriodMillis How long the DOM must stay unchanged
+     * @param timeoutSeconds    Maximum time to wait
+     * @return true if the DOM became stable, false if it was still changing at the timeout
+     */
+    public static boolean waitForDomStable(long quietPeriodMillis, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
+        long start = System.currentTimeMillis();
+        try {
+            boolean stable = InPageWait.untilDomQuiet(quietPeriodMillis, timeoutSeconds);
+            record("domQuiet", "document", stable ? WaitMetrics.Outcome.SATISFIED : WaitMetrics.Outcome.TIMEOUT, start);
+            if (stable) {
+                log.debug("DOM stable for {} ms", quietPeriodMillis);
+            } else {
+                log.info("DOM still changing after {} seconds, continuing", timeoutSeconds);
+            }
+            return stable;
+        } catch (Exception e) {
+            record("domQuiet", "document", WaitMetrics.Outcome.ERROR, start);
+            log.warn("DOM stability wait failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Network idle waits
+    /**
+     * Waits until the page's XHR/fetch traffic has settled, using the configured idle period.
+     *
+     * @return true if the network became idle, false on timeout
+     */
+    public static boolean waitForNetworkIdle() {
+        return waitForNetworkIdle(ConfigManager.getNetworkIdleMillis(), DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Waits until no request has been in flight for the idle period. Requests matching the
+     * networkIdle include/exclude filters are counted from DevTools events where available,
+     * otherwise from fetch/XHR wrappers injected into the page. The network must stay idle for
+     * the full period after the call, so requests fired by the preceding action are not missed.
+     *
+     * @param idleMillis     How long no request may be in flight
+     * @param timeoutSeconds Maximum time to wait
+     * @return true if the network became idle, false on timeout
+     */
+    public static boolean waitForNetworkIdle(long idleMillis, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
+        long maxRequestAgeMillis = ConfigManager.getNetworkIdleMaxRequestAge() * 1000L;
+        WebDriver original = DriverManager.getOriginalDriver();
+        long start = System.currentTimeMillis();
+        boolean idle;
+        try {
+            if (NetworkActivityTracker.isTracking(original)) {
+                long deadline = start + timeoutSeconds * 1000L;
+                idle = false;
+                while (!idle && System.currentTimeMillis() < deadline) {
+                    long networkIdle = NetworkActivityTracker.idleMillis(original, maxRequestAgeMillis);
+                    idle = Math.min(networkIdle, System.currentTimeMillis() - start) >= idleMillis;
+                    if (!idle) {
+                        Thread.sleep(50);
+                    }
+                }
+            } else {
+                idle = InPageWait.untilNetworkIdle(idleMillis, timeoutSeconds, ConfigManager.getNetworkIdleInclude(),
+                        ConfigManager.getNetworkIdleExclude(), maxRequestAgeMillis);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            record("networkIdle", "document", WaitMetrics.Outcome.ERROR, start);
+            log.warn("Network idle wait interrupted");
+            return false;
+        } catch (Exception e) {
+            record("networkIdle", "document", WaitMetrics.Outcome.ERROR, start);
+            log.warn("Network idle wait failed: {}", e.getMessage());
+            return false;
+        }
+
+        record("networkIdle", "document", idle ? WaitMetrics.Outcome.SATISFIED : WaitMetrics.Outcome.TIMEOUT, start);
+        if (idle) {
+            log.debug("Network idle for {} ms", idleMillis);
+        } else {
+            log.warn("Network still busy after {} seconds", timeoutSeconds);
+        }
+        return idle;
+    }
+
+    private static boolean isNormalPageLoadStrategy() {
+        WebDriver driver = getDriver();
+        if (!(driver instanceof HasCapabilities)) {
+            return true;
+        }
+        Object strategy = ((HasCapabilities) driver).getCapabilities().getCapability("pageLoadStrategy");
+        return strategy == null || "normal".equalsIgnoreCase(strategy.toString());
+    }
+
     // Element disappearance waits
     public static boolean waitForElementToDisappear(By locator) {
         return waitForElementToDisappear(locator, DEFAULT_TIMEOUT);
     }
 
     public static boolean waitForElementToDisappear(By locator, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            boolean result = getWait(timeoutSeconds).until(ExpectedConditions.invisibilityOfElementLocated(locator));
+            boolean result = InPageWait.until(InPageWait.Condition.GONE, locator, timeoutSeconds,
+                    ExpectedConditions.invisibilityOfElementLocated(locator));
             log.debug("Element disappeared: {}", locator);
             return result;
         } catch (Exception e) {
@@ -209,13 +438,15 @@ public class WaitUtils {
      * @return true if loader disappeared or was never present, false if timeout occurred
      */
     public static boolean waitForLoaderToDisappear(By loaderLocator, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
             // First, briefly check if loader appears
             if (isElementPresent(loaderLocator, LOADER_DETECTION_TIMEOUT)) {
                 log.debug("Loader detected, waiting for it to disappear: {}", loaderLocator);
 
                 // Wait for the loader to disappear
-                boolean disappeared = getWait(timeoutSeconds).until(ExpectedConditions.invisibilityOfElementLocated(loaderLocator));
+                boolean disappeared = InPageWait.until(InPageWait.Condition.GONE, loaderLocator, timeoutSeconds,
+                        ExpectedConditions.invisibilityOfElementLocated(loaderLocator));
                 log.debug("Loader disappeared: {} (result: {})", loaderLocator, disappeared);
                 return disappeared;
             } else {
@@ -232,6 +463,30 @@ public class WaitUtils {
         }
     }
 
+    /**
+     * Waits for a loader that a {@link LoaderWatch} was armed for before an action. Returns at once
+     * if the loader already came and went, and after a short window measured from arming if it
+     * never appeared; only a loader that is still visible is waited out.
+     *
+     * @param watch          Watch armed before the action
+     * @param timeoutSeconds Maximum time to wait for a visible loader to disappear
+     * @return true if loader disappeared or was never present, false if timeout occurred
+     */
+    public static boolean waitForLoaderToDisappear(LoaderWatch watch, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
+        LoaderWatch.Outcome outcome = watch.await(LOADER_APPEARANCE_WINDOW_MILLIS);
+        log.debug("Loader {} after action: {}", watch.getLocator(), outcome);
+        switch (outcome) {
+            case CAME_AND_WENT:
+            case NEVER_APPEARED:
+                return true;
+            case VISIBLE:
+                return waitForElementToDisappear(watch.getLocator(), timeoutSeconds);
+            default:
+                return waitForLoaderToDisappear(watch.getLocator(), timeoutSeconds);
+        }
+    }
+
     /**
      * Waits for multiple loaders to disappear. Useful when a page might have multiple loading indicators.
      *
@@ -273,8 +528,10 @@ public class WaitUtils {
     }
 
     public static boolean isElementPresent(By locator, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            getWait(timeoutSeconds).until(ExpectedConditions.presenceOfElementLocated(locator));
+            InPageWait.until(InPageWait.Condition.PRESENT, locator, timeoutSeconds,
+                    ExpectedConditions.presenceOfElementLocated(locator));
             log.debug("Element is present: {}", locator);
             return true;
         } catch (Exception e) {
@@ -288,8 +545,10 @@ public class WaitUtils {
     }
 
     public static boolean isElementVisible(By locator, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            getWait(timeoutSeconds).until(ExpectedConditions.visibilityOfElementLocated(locator));
+            InPageWait.until(InPageWait.Condition.VISIBLE, locator, timeoutSeconds,
+                    ExpectedConditions.visibilityOfElementLocated(locator));
             log.debug("Element is visible: {}", locator);
             return true;
         } catch (Exception e) {
@@ -303,6 +562,7 @@ public class WaitUtils {
     }
 
     public static boolean isDisplayed(By locator, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
             WebElement element = waitForElementPresent(locator, timeoutSeconds);
             boolean displayed = element.isDisplayed();
@@ -319,6 +579,7 @@ public class WaitUtils {
     }
 
     public static boolean isEnabled(By locator, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
             WebElement element = waitForElementPresent(locator, timeoutSeconds);
             boolean enabled = element.isEnabled();
@@ -335,6 +596,7 @@ public class WaitUtils {
     }
 
     public static boolean isSelected(By locator, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
             WebElement element = waitForElementPresent(locator, timeoutSeconds);
             boolean selected = element.isSelected();
@@ -364,8 +626,10 @@ public class WaitUtils {
      * @return true if element became stale, false otherwise
      */
     public static boolean waitForElementToBeStale(WebElement element, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            boolean isStale = getWait(timeoutSeconds).until(ExpectedConditions.stalenessOf(element));
+            boolean isStale = InPageWait.until(InPageWait.Condition.DETACHED, element, timeoutSeconds,
+                    ExpectedConditions.stalenessOf(element));
             log.debug("Element became stale: {}", isStale);
             return isStale;
         } catch (Exception e) {
@@ -394,8 +658,10 @@ public class WaitUtils {
      * @return true if text is present, false otherwise
      */
     public static boolean waitForTextToBePresentInElement(By locator, String text, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            boolean textPresent = getWait(timeoutSeconds).until(ExpectedConditions.textToBePresentInElementLocated(locator, text));
+            boolean textPresent = InPageWait.untilText(locator, text, timeoutSeconds,
+                    ExpectedConditions.textToBePresentInElementLocated(locator, text));
             log.debug("Text '{}' present in element {}: {}", text, locator, textPresent);
             return textPresent;
         } catch (Exception e) {
@@ -426,8 +692,10 @@ public class WaitUtils {
      * @return true if attribute contains value, false otherwise
      */
     public static boolean waitForAttributeContains(By locator, String attribute, String value, int timeoutSeconds) {
+        timeoutSeconds = WaitBudget.clamp(timeoutSeconds);
         try {
-            boolean attributeContains = getWait(timeoutSeconds).until(ExpectedConditions.attributeContains(locator, attribute, value));
+            boolean attributeContains = InPageWait.untilAttribute(locator, attribute, value, timeoutSeconds,
+                    ExpectedConditions.attributeContains(locator, attribute, value));
             log.debug("Attribute '{}' contains '{}' in element {}: {}", attribute, value, locator, attributeContains);
             return attributeContains;
         } catch (Exception e) {
@@ -460,4 +728,28 @@ public class WaitUtils {
         }
     }
 
-}
\ No newline at end of file
+    // Animation settling
+    /**
+     * Pauses to let CSS animations and smooth scrolling finish.
+     * Returns immediately when animation-free mode is active on the current driver.
+     */
+    public static void waitForAnimations(long millis) {
+        if (AnimationFreeMode.isActive(DriverManager.getOriginalDriver())) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Animation wait interrupted");
+        }
+    }
+
+    /**
+     * @return Pause for Actions chains that wait on hover animations, zero in animation-free mode
+     */
+    public static Duration animationPause(long millis) {
+        return AnimationFreeMode.isActive(DriverManager.getOriginalDriver()) ? Duration.ZERO : Duration.ofMillis(millis);
+    }
+
+}
@@ -6,6 +6,7 @@ import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.Keys;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
+import com.balsamhill.automation.drivers.AnimationFreeMode;
 import com.balsamhill.automation.drivers.DriverManager;
 
 
@@ -168,7 +169,8 @@ public class WebElementUtils {
     public static void scrollToElement(WebElement element) {
         try {
             JavascriptExecutor js = (JavascriptExecutor) DriverManager.getDriver();
-            js.executeScript("arguments[0].scrollIntoView({behavior: 'smooth', block: 'center'});", element);
+            String behavior = AnimationFreeMode.isActive(DriverManager.getOriginalDriver()) ? "instant" : "smooth";
+            js.executeScript("arguments[0].scrollIntoView({behavior: arguments[1], block: 'center'});", element, behavior);
             log.info("Scrolled to element: {}", element);
         } catch (Exception e) {
             log.error("Failed to scroll to element: {}", e.getMessage());